@@ -0,0 +1,57 @@
+-- Plan benchmark for the V6 trigram indexes (substring search on listings and users).
+-- Run against a scratch database migrated to at least V6; everything is rolled back at the end:
+--   psql -d carz_avenue_bench -f db/benchmarks/trigram_search.sql
+-- Each query is explained twice: first with the trigram indexes (expect Bitmap Index Scan on
+-- idx_*_trgm), then after dropping them inside the transaction (expect Seq Scan).
+
+\timing on
+BEGIN;
+
+-- 1) Seed 1M users and 1M listings
+INSERT INTO users (email, password_hash, name, role)
+SELECT 'seller' || g || '@example' || (g % 500) || '.com', 'x', 'Seller ' || md5(g::text), 'user'
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO car_listing (owner_id, title, make, model, year, mileage, price, location, created_at)
+SELECT u.id,
+       'Listing ' || u.id,
+       (ARRAY['Toyota', 'Mercedes-Benz', 'BMW', 'Hyundai', 'Kia', 'Lexus', 'Ford', 'Nissan'])[1 + u.id % 8],
+       'Model-' || (u.id % 2000),
+       1995 + (u.id % 30)::int,
+       (u.id % 300000)::int,
+       1000 + (u.id % 90000),
+       (ARRAY['Tbilisi', 'Batumi', 'Kutaisi', 'Rustavi', 'Zugdidi', 'Gori', 'Poti', 'Telavi'])[1 + u.id % 8]
+           || ', district ' || (u.id % 1000),
+       now() - (u.id % 1000) * interval '1 hour'
+FROM users u
+WHERE u.email LIKE 'seller%@example%';
+
+ANALYZE users;
+ANALYZE car_listing;
+
+-- 2) With trigram indexes
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM car_listing WHERE lower(location) LIKE '%district 42%' ESCAPE '\';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM car_listing WHERE lower(model) LIKE '%del-123%' ESCAPE '\';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM users
+WHERE lower(email) LIKE '%seller4242%' ESCAPE '\' OR lower(name) LIKE '%seller4242%' ESCAPE '\';
+
+-- 3) Same queries without them
+DROP INDEX idx_car_listing_location_trgm, idx_car_listing_make_trgm, idx_car_listing_model_trgm,
+    idx_users_email_trgm, idx_users_name_trgm;
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM car_listing WHERE lower(location) LIKE '%district 42%' ESCAPE '\';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM car_listing WHERE lower(model) LIKE '%del-123%' ESCAPE '\';
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM users
+WHERE lower(email) LIKE '%seller4242%' ESCAPE '\' OR lower(name) LIKE '%seller4242%' ESCAPE '\';
+
+ROLLBACK;
@@ -0,0 +1,114 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List response rendering: mapping every row with {@link CarMapper#toResponse} and serializing it with
+ * Jackson, against splicing the cached {@link CarJsonFragments} bytes into the envelope. No database needed:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CarJsonFragmentsBenchmark"
+ * </pre>
+ * {@code splicedFragments} is the controller path (rows are still mapped, serialization is skipped);
+ * {@code streamedFragments} is the CarListingStreamer path, which skips the mapping as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarJsonFragmentsBenchmark {
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private List<CarListingRow> rows;
+    private List<List<String>> photos;
+    private List<PackageType> packageTypes;
+    private ObjectMapper plainMapper;
+    private ObjectMapper fragmentMapper;
+    private CarJsonFragments fragments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        rows = new ArrayList<>(pageSize);
+        photos = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (int i = 0; i < pageSize; i++) {
+            rows.add(new CarListingRow((long) i + 1, 7L, "Seller " + i, "seller" + i + "@example.com", "+995555000" + i,
+                    "Toyota Prius 2015 – sale", "sale", PackageType.ECONOM, VehicleCategory.OTHER,
+                    "Toyota", "Prius", 2015, 120000 + i, "Hybrid", "Automatic", "Hatchback", 1.8, 14500.0 + i,
+                    "+995555000" + i, "Silver", "Well kept, single owner, full service history. ".repeat(4),
+                    "Tbilisi, district " + i, null, true, i % 10 == 0, null, now.minusSeconds(3600L * i), now));
+            List<String> urls = new ArrayList<>();
+            for (int p = 0; p < 8; p++) {
+                urls.add("https://img.example.com/listings/" + (i + 1) + "/" + p + ".jpg");
+            }
+            photos.add(urls);
+        }
+        packageTypes = List.of(PackageType.ECONOM);
+
+        plainMapper = Jackson2ObjectMapperBuilder.json().build();
+        fragments = new CarJsonFragments(true, 20000);
+        fragmentMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new CarJsonFragmentModule(fragments))
+                .build();
+        // Warm the fragment cache the way the first request would
+        fragmentMapper.writeValueAsBytes(ApiResponse.ok(map()));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return plainMapper.writeValueAsBytes(ApiResponse.ok(map()));
+    }
+
+    @Benchmark
+    public byte[] splicedFragments() throws Exception {
+        return fragmentMapper.writeValueAsBytes(ApiResponse.ok(map()));
+    }
+
+    @Benchmark
+    public byte[] streamedFragments() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(pageSize * 2048);
+        try (JsonGenerator generator = fragmentMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("data");
+            for (CarListingRow row : rows) {
+                generator.writeRawValue(fragments.get(row.id(), row.updatedAt()));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private List<CarResponse> map() {
+        List<CarResponse> page = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            page.add(CarMapper.toResponse(rows.get(i), photos.get(i), packageTypes));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,187 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.Application;
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.CountMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /cars first pages through the in-memory {@link CarSearchIndex} against the Specification query it
+ * replaced, at 100k and 1M active listings. Needs a scratch Postgres migrated to the latest version (same
+ * as db/benchmarks); the seeded rows are removed again on teardown:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CarSearchIndexBenchmark" \
+ *     -Dbench.db.url=jdbc:postgresql://localhost:5432/carz_avenue_bench
+ * </pre>
+ * Both paths end with the same {@link CarListingReader} hydration of the page, so the difference is the
+ * filter, sort and count work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CarSearchIndexBenchmark {
+    private static final String BENCH_EMAIL = "jmh-search-index@example.com";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    public int listings;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private CarSearchIndex searchIndex;
+    private CarListingReader listingReader;
+    private TransactionTemplate readOnly;
+
+    private final CarSearchCriteria browse = CarSearchCriteria.builder().build();
+    private final CarSearchCriteria filtered = CarSearchCriteria.builder()
+            .make("Toyota")
+            .fuelType("Hybrid")
+            .yearMin(2010)
+            .priceMax(30000.0)
+            .build();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/carz_avenue_bench");
+        String user = System.getProperty("bench.db.user", "postgres");
+        String password = System.getProperty("bench.db.password", "postgres");
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + user,
+                        "spring.datasource.password=" + password,
+                        "spring.flyway.url=" + url,
+                        "spring.flyway.user=" + user,
+                        "spring.flyway.password=" + password,
+                        "app.search.cache.enabled=false",
+                        "app.search.fragments.enabled=false")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        searchIndex = context.getBean(CarSearchIndex.class);
+        listingReader = context.getBean(CarListingReader.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        removeSeed();
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, name, role) VALUES (?, 'x', 'JMH seller', 'user')",
+                BENCH_EMAIL);
+        jdbcTemplate.update("""
+                INSERT INTO car_listing (owner_id, title, make, model, year, mileage, fuel_type, transmission, body_type,
+                                         engine_volume, price, location, category, is_active, is_vip, created_at, updated_at)
+                SELECT (SELECT id FROM users WHERE email = ?),
+                       'Listing ' || g,
+                       (ARRAY['Toyota', 'Mercedes-Benz', 'BMW', 'Hyundai', 'Kia', 'Lexus', 'Ford', 'Nissan'])[1 + g % 8],
+                       'Model-' || (g % 400),
+                       1995 + g % 30,
+                       g % 300000,
+                       (ARRAY['Petrol', 'Diesel', 'Hybrid', 'Electric'])[1 + g % 4],
+                       (ARRAY['Automatic', 'Manual'])[1 + g % 2],
+                       (ARRAY['Sedan', 'SUV', 'Hatchback', 'Coupe'])[1 + g % 4],
+                       1.0 + (g % 40) / 10.0,
+                       1000 + g % 90000,
+                       (ARRAY['Tbilisi', 'Batumi', 'Kutaisi', 'Rustavi'])[1 + g % 4] || ', district ' || (g % 1000),
+                       'OTHER', true, g % 20 = 0,
+                       now() - g * interval '1 minute', now() - g * interval '1 minute'
+                FROM generate_series(1, ?) AS g
+                """, BENCH_EMAIL, listings);
+        jdbcTemplate.execute("ANALYZE car_listing");
+        searchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        removeSeed();
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<CarResponse> browseIndex() {
+        return viaIndex(browse);
+    }
+
+    @Benchmark
+    public Slice<CarResponse> browseSpecification() {
+        return viaSpecification(browse);
+    }
+
+    @Benchmark
+    public Slice<CarResponse> filteredIndex() {
+        return viaIndex(filtered);
+    }
+
+    @Benchmark
+    public Slice<CarResponse> filteredSpecification() {
+        return viaSpecification(filtered);
+    }
+
+    private Slice<CarResponse> viaIndex(CarSearchCriteria criteria) {
+        return readOnly.execute(status -> {
+            CarSearchIndex.SearchResult result = searchIndex.search(criteria, "newest", 0, PAGE_SIZE)
+                    .orElseThrow(() -> new IllegalStateException("search index is not ready"));
+            List<CarResponse> cars = listingReader.findByIds(result.ids());
+            return new PageImpl<>(cars, page(), result.total());
+        });
+    }
+
+    private Slice<CarResponse> viaSpecification(CarSearchCriteria criteria) {
+        return readOnly.execute(status -> listingReader.findPage(specification(criteria), page(), CountMode.EXACT));
+    }
+
+    private static PageRequest page() {
+        return PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending());
+    }
+
+    // Mirrors CarService.buildSearchSpec for the filters used above
+    private static Specification<CarListing> specification(CarSearchCriteria criteria) {
+        Specification<CarListing> spec = Specification.where(CarSpecifications.active());
+        if (criteria.getMake() != null) {
+            spec = spec.and(CarSpecifications.make(criteria.getMake()));
+        }
+        if (criteria.getFuelType() != null) {
+            spec = spec.and(CarSpecifications.fuelType(criteria.getFuelType()));
+        }
+        if (criteria.getYearMin() != null) {
+            spec = spec.and(CarSpecifications.yearMin(criteria.getYearMin()));
+        }
+        if (criteria.getPriceMax() != null) {
+            spec = spec.and(CarSpecifications.priceMax(criteria.getPriceMax()));
+        }
+        return spec;
+    }
+
+    private void removeSeed() {
+        jdbcTemplate.update("DELETE FROM car_listing WHERE owner_id IN (SELECT id FROM users WHERE email = ?)", BENCH_EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", BENCH_EMAIL);
+    }
+}
@@ -17,9 +17,15 @@ import com.carzavenue.backend.admin.dto.AdminPaymentConfigRequest;
 import com.carzavenue.backend.admin.dto.AdminPaymentConfigResponse;
 import com.carzavenue.backend.admin.dto.AdminSetPasswordRequest;
 import com.carzavenue.backend.car.AdStatus;
+import com.carzavenue.backend.car.CarBulkParser;
+import com.carzavenue.backend.car.CarSearchCache;
+import com.carzavenue.backend.car.VipExpirySweeper;
+import com.carzavenue.backend.car.dto.CarBulkImportResponse;
 import com.carzavenue.backend.car.dto.CarRequest;
 import com.carzavenue.backend.car.dto.CarResponse;
 import com.carzavenue.backend.common.ApiResponse;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.common.CursorPage;
 import com.carzavenue.backend.common.PageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
@@ -61,6 +67,27 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.ok(adminService.getUserAccounts(id)));
     }
 
+    @GetMapping("/accounts/{id}/balance")
+    public ResponseEntity<ApiResponse<com.carzavenue.backend.payment.dto.AccountBalanceResponse>> accountBalance(
+            @PathVariable Long id,
+            @RequestParam(value = "at", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant at) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getAccountBalance(id, at)));
+    }
+
+    @GetMapping("/accounts/{id}/statement")
+    public ResponseEntity<ApiResponse<com.carzavenue.backend.payment.dto.AccountStatementResponse>> accountStatement(
+            @PathVariable Long id,
+            @RequestParam(value = "from")
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant from,
+            @RequestParam(value = "to", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant to) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getAccountStatement(id, from, to)));
+    }
+
     @GetMapping("/users/{id}/ledger")
     public ResponseEntity<ApiResponse<PageResponse<LedgerEntryResponse>>> userLedger(
             @PathVariable Long id,
@@ -95,6 +122,38 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.ok(adminService.getLedger(userId, currency, type, from, to, pageable)));
     }
 
+    @GetMapping(value = "/users/{id}/ledger", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<LedgerEntryResponse>>> userLedgerByCursor(
+            @PathVariable Long id,
+            @RequestParam String cursor,
+            @RequestParam(value = "currency", required = false) String currency,
+            @RequestParam(value = "type", required = false) LedgerType type,
+            @RequestParam(value = "from", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant from,
+            @RequestParam(value = "to", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant to,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getUserLedgerByCursor(id, currency, type, from, to, cursor, size)));
+    }
+
+    @GetMapping(value = "/ledger", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<LedgerEntryResponse>>> ledgerByCursor(
+            @RequestParam String cursor,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "currency", required = false) String currency,
+            @RequestParam(value = "type", required = false) LedgerType type,
+            @RequestParam(value = "from", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant from,
+            @RequestParam(value = "to", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant to,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getLedgerByCursor(userId, currency, type, from, to, cursor, size)));
+    }
+
     @PostMapping("/users/{id}/reset-password")
     public ResponseEntity<ApiResponse<AdminResetPasswordResponse>> resetPassword(
             @PathVariable Long id,
@@ -165,9 +224,35 @@ public class AdminController {
                                                                                @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
                                                                                java.time.LocalDateTime createdTo,
                                                                                @RequestParam(required = false) Long sellerId,
-                                                                               @RequestParam(required = false) String sellerEmail) {
+                                                                               @RequestParam(required = false) String sellerEmail,
+                                                                               @RequestParam(required = false) String count) {
         return ResponseEntity.ok(ApiResponse.ok(
                 adminService.listAds(page, size, sort, status, q, makeId, modelId, locationId,
+                        priceMin, priceMax, createdFrom, createdTo, sellerId, sellerEmail,
+                        CountMode.from(count, CountMode.EXACT))));
+    }
+
+    @GetMapping(value = "/ads", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<AdminListingResponse>>> adsByCursor(@RequestParam String cursor,
+                                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                                     @RequestParam(required = false) String sort,
+                                                                                     @RequestParam(required = false) AdStatus status,
+                                                                                     @RequestParam(required = false) String q,
+                                                                                     @RequestParam(required = false) String makeId,
+                                                                                     @RequestParam(required = false) String modelId,
+                                                                                     @RequestParam(required = false) String locationId,
+                                                                                     @RequestParam(required = false) Double priceMin,
+                                                                                     @RequestParam(required = false) Double priceMax,
+                                                                                     @RequestParam(required = false)
+                                                                                     @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+                                                                                     java.time.LocalDateTime createdFrom,
+                                                                                     @RequestParam(required = false)
+                                                                                     @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+                                                                                     java.time.LocalDateTime createdTo,
+                                                                                     @RequestParam(required = false) Long sellerId,
+                                                                                     @RequestParam(required = false) String sellerEmail) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                adminService.listAdsByCursor(cursor, size, sort, status, q, makeId, modelId, locationId,
                         priceMin, priceMax, createdFrom, createdTo, sellerId, sellerEmail)));
     }
 
@@ -176,6 +261,21 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.ok(adminService.listingFilters()));
     }
 
+    @GetMapping("/vip/sweeps")
+    public ResponseEntity<ApiResponse<VipExpirySweeper.Stats>> vipSweeps() {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.vipSweepStats()));
+    }
+
+    @GetMapping("/ads/purges")
+    public ResponseEntity<ApiResponse<com.carzavenue.backend.car.CarListingPurger.Stats>> adPurges() {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.purgeStats()));
+    }
+
+    @GetMapping("/search/cache")
+    public ResponseEntity<ApiResponse<CarSearchCache.Stats>> searchCache() {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.searchCacheStats()));
+    }
+
     @GetMapping("/ads/{id}")
     public ResponseEntity<ApiResponse<AdminListingResponse>> ad(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.ok(adminService.getAd(id)));
@@ -215,6 +315,18 @@ public class AdminController {
                 adminService.createAdWithImages(request.getOwnerId(), mappedRequest, images)));
     }
 
+    @PostMapping(value = "/ads/bulk", consumes = {CarBulkParser.NDJSON, CarBulkParser.CSV})
+    public ResponseEntity<ApiResponse<CarBulkImportResponse>> bulkCreateAds(@RequestParam Long ownerId,
+                                                                            jakarta.servlet.http.HttpServletRequest request) throws java.io.IOException {
+        return ResponseEntity.ok(ApiResponse.ok(
+                adminService.bulkCreateAds(ownerId, request.getInputStream(), request.getContentType())));
+    }
+
+    @PostMapping("/ads/delete")
+    public ResponseEntity<ApiResponse<java.util.Map<String, Integer>>> deleteAds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.ok(java.util.Map.of("deleted", adminService.deleteListings(ids))));
+    }
+
     @PutMapping("/ads/{id}")
     public ResponseEntity<ApiResponse<CarResponse>> updateAd(@PathVariable Long id,
                                                              @Validated @RequestBody CarRequest request) {
@@ -245,6 +357,72 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.ok(adminService.updateAdCategory(id, request.getCategory())));
     }
 
+    @GetMapping("/export/listings")
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportListings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(value = "since", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant since,
+            @RequestParam(value = "ownerId", required = false) Long ownerId,
+            @RequestParam(value = "status", required = false) AdStatus status,
+            @RequestParam(value = "category", required = false) com.carzavenue.backend.car.VehicleCategory category,
+            @RequestParam(value = "active", required = false) Boolean active) {
+        AdminExporter.Format exportFormat = AdminExporter.Format.from(format);
+        Instant until = adminService.exportWatermark();
+        return export("listings", exportFormat, gzip, until, true,
+                out -> adminService.exportListings(ownerId, status, category, active, since, until, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/export/users")
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(value = "since", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant since,
+            @RequestParam(value = "role", required = false) com.carzavenue.backend.user.Role role,
+            @RequestParam(value = "blocked", required = false) Boolean blocked) {
+        AdminExporter.Format exportFormat = AdminExporter.Format.from(format);
+        Instant until = adminService.exportWatermark();
+        return export("users", exportFormat, gzip, until, true,
+                out -> adminService.exportUsers(role, blocked, since, until, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/export/ledger")
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportLedger(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(value = "since", required = false)
+            @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME)
+            Instant since,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "currency", required = false) String currency,
+            @RequestParam(value = "type", required = false) LedgerType type) {
+        // Checked before streaming starts so the client gets a 400 instead of a truncated file
+        if (since != null) {
+            throw new IllegalArgumentException(AdminExporter.LEDGER_SINCE_UNSUPPORTED);
+        }
+        AdminExporter.Format exportFormat = AdminExporter.Format.from(format);
+        Instant until = adminService.exportWatermark();
+        return export("ledger", exportFormat, gzip, until, false,
+                out -> adminService.exportLedger(userId, currency, type, since, until, exportFormat, gzip, out));
+    }
+
+    // X-Export-Watermark is the "since" to pass on the next incremental run; full-only exports do not send it
+    private ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> export(
+            String name, AdminExporter.Format format, boolean gzip, Instant until, boolean incremental,
+            org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody body) {
+        String filename = name + "." + format.extension() + (gzip ? ".gz" : "");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType()))
+                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (incremental) {
+            response.header("X-Export-Watermark", until.toString());
+        }
+        return response.body(body);
+    }
+
     // Legacy endpoints
     @GetMapping("/listings")
     public ResponseEntity<ApiResponse<List<CarResponse>>> allListings() {
@@ -0,0 +1,286 @@
+package com.carzavenue.backend.admin;
+
+import com.carzavenue.backend.car.AdStatus;
+import com.carzavenue.backend.car.VehicleCategory;
+import com.carzavenue.backend.payment.LedgerType;
+import com.carzavenue.backend.user.Role;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams admin exports as CSV or NDJSON from a forward-only cursor over scalar rows, so neither entities
+ * nor the full result are ever held in memory. Rows come out in (modified, id) order and are bounded by
+ * {@code (since, until]}; passing the previous run's {@code until} as {@code since} resumes without gaps or
+ * repeats. Two limits: the listings export has no tombstones, because soft-deleted listings are hidden from
+ * JPA reads, so an incremental consumer never learns about deletions and has to reconcile with a full
+ * export; and the ledger export is full-only, see {@link #ledger}.
+ */
+@Component
+public class AdminExporter {
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+    }
+
+    private record Dataset(String from, String modified, String id, Map<String, String> columns) {
+    }
+
+    private static final Dataset LISTINGS = new Dataset("CarListing c LEFT JOIN c.owner u",
+            "coalesce(c.updatedAt, c.createdAt)", "c.id", columns(
+            "id", "c.id",
+            "ownerId", "u.id",
+            "ownerEmail", "u.email",
+            "title", "c.title",
+            "listingType", "c.listingType",
+            "make", "c.make",
+            "model", "c.model",
+            "year", "c.year",
+            "mileage", "c.mileage",
+            "price", "c.price",
+            "fuelType", "c.fuelType",
+            "transmission", "c.transmission",
+            "bodyType", "c.bodyType",
+            "engineVolume", "c.engineVolume",
+            "color", "c.color",
+            "location", "c.location",
+            "vinCode", "c.vinCode",
+            "category", "c.category",
+            "packageType", "c.packageType",
+            "status", "c.status",
+            "active", "c.isActive",
+            "vip", "c.isVip",
+            "vipExpiresAt", "c.vipExpiresAt",
+            "createdAt", "c.createdAt",
+            "updatedAt", "c.updatedAt"));
+
+    private static final Dataset USERS = new Dataset("User u",
+            "coalesce(u.updatedAt, u.createdAt)", "u.id", columns(
+            "id", "u.id",
+            "email", "u.email",
+            "name", "u.name",
+            "phoneNumber", "u.phoneNumber",
+            "role", "u.role",
+            "provider", "u.provider",
+            "blocked", "u.isBlocked",
+            "createdAt", "u.createdAt",
+            "updatedAt", "u.updatedAt"));
+
+    // Ordered by createdAt; entries change status after creation, so this order is not a modification order
+    private static final Dataset LEDGER = new Dataset("LedgerEntry e LEFT JOIN e.account a LEFT JOIN a.user u",
+            "e.createdAt", "e.id", columns(
+            "id", "e.id",
+            "accountId", "a.id",
+            "userId", "u.id",
+            "userEmail", "u.email",
+            "currency", "a.currency",
+            "direction", "e.direction",
+            "amount", "e.amount",
+            "type", "e.type",
+            "referenceType", "e.referenceType",
+            "referenceId", "e.referenceId",
+            "status", "e.status",
+            "idempotencyKey", "e.idempotencyKey",
+            "createdAt", "e.createdAt"));
+
+    public static final String LEDGER_SINCE_UNSUPPORTED = "The ledger export is not incremental; omit since";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Duration watermarkLag;
+
+    public AdminExporter(EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         @Value("${app.admin.export.fetch-size:1000}") int fetchSize,
+                         @Value("${app.admin.export.watermark-lag:5s}") Duration watermarkLag) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.watermarkLag = watermarkLag;
+    }
+
+    /**
+     * Upper bound for an export starting now. It trails the clock so rows stamped just before it but not yet
+     * committed are still picked up by the next run.
+     */
+    public Instant watermark() {
+        return Instant.now().minus(watermarkLag);
+    }
+
+    @Transactional(readOnly = true)
+    public void listings(Long ownerId, AdStatus status, VehicleCategory category, Boolean active,
+                         Instant since, Instant until, Format format, boolean gzip, OutputStream out) throws IOException {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("u.id", ownerId);
+        filters.put("c.status", status);
+        filters.put("c.category", category);
+        filters.put("c.isActive", active);
+        export(LISTINGS, filters, since, until, format, gzip, out);
+    }
+
+    @Transactional(readOnly = true)
+    public void users(Role role, Boolean blocked,
+                      Instant since, Instant until, Format format, boolean gzip, OutputStream out) throws IOException {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("u.role", role);
+        filters.put("u.isBlocked", blocked);
+        export(USERS, filters, since, until, format, gzip, out);
+    }
+
+    /**
+     * Full ledger export up to {@code until}. Entries move from pending to a final status after they are
+     * created and the ledger has no modification timestamp to resume from, so {@code since} is rejected
+     * rather than silently missing those status changes.
+     */
+    @Transactional(readOnly = true)
+    public void ledger(Long userId, String currency, LedgerType type,
+                       Instant since, Instant until, Format format, boolean gzip, OutputStream out) throws IOException {
+        if (since != null) {
+            throw new IllegalArgumentException(LEDGER_SINCE_UNSUPPORTED);
+        }
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("u.id", userId);
+        filters.put("a.currency", currency == null || currency.isBlank() ? null : currency.trim().toUpperCase());
+        filters.put("e.type", type);
+        export(LEDGER, filters, since, until, format, gzip, out);
+    }
+
+    private void export(Dataset dataset, Map<String, Object> filters, Instant since, Instant until,
+                        Format format, boolean gzip, OutputStream out) throws IOException {
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", dataset.columns().values()))
+                .append(" FROM ").append(dataset.from())
+                .append(" WHERE ").append(dataset.modified()).append(" <= :until");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("until", until);
+        if (since != null) {
+            jpql.append(" AND ").append(dataset.modified()).append(" > :since");
+            parameters.put("since", since);
+        }
+        int index = 0;
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            if (filter.getValue() != null) {
+                String name = "f" + index++;
+                jpql.append(" AND ").append(filter.getKey()).append(" = :").append(name);
+                parameters.put(name, filter.getValue());
+            }
+        }
+        jpql.append(" ORDER BY ").append(dataset.modified()).append(", ").append(dataset.id());
+
+        @SuppressWarnings("unchecked")
+        org.hibernate.query.Query<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .unwrap(org.hibernate.query.Query.class);
+        parameters.forEach(query::setParameter);
+        List<String> columns = List.copyOf(dataset.columns().keySet());
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        try (ScrollableResults<Object[]> rows = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            if (format == Format.CSV) {
+                writeCsv(columns, rows, target);
+            } else {
+                writeNdjson(columns, rows, target);
+            }
+        }
+    }
+
+    private void writeCsv(List<String> columns, ScrollableResults<Object[]> rows, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+            while (rows.next()) {
+                Object[] row = rows.get();
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvValue(row[i]));
+                }
+                writer.write("\r\n");
+            }
+        }
+    }
+
+    private void writeNdjson(List<String> columns, ScrollableResults<Object[]> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            int written = 0;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                generator.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    generator.writeFieldName(columns.get(i));
+                    generator.writeObject(row[i]);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++written % fetchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Enum<?> e ? e.name() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static Map<String, String> columns(String... namesAndPaths) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            columns.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return columns;
+    }
+}
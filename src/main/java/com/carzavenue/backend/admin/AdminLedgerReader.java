@@ -0,0 +1,121 @@
+package com.carzavenue.backend.admin;
+
+import com.carzavenue.backend.common.SeekCursor;
+import com.carzavenue.backend.payment.Account;
+import com.carzavenue.backend.payment.LedgerEntry;
+import com.carzavenue.backend.payment.LedgerType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single query path for the admin ledger screens. Only the filters that are set become predicates, so
+ * Postgres plans each filter combination on its own instead of one {@code :x IS NULL OR ...} plan for all.
+ */
+@Component
+public class AdminLedgerReader {
+    public static final Sort.Order SEEK_ORDER = Sort.Order.desc("createdAt");
+
+    /**
+     * accountIds, when set, restricts entries to those accounts; the other fields match the admin filters.
+     */
+    public record Filter(Collection<Long> accountIds, Long userId, String currency, LedgerType type,
+                         Instant from, Instant to) {
+    }
+
+    private final EntityManager entityManager;
+
+    public AdminLedgerReader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Page<LedgerEntry> findPage(Filter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LedgerEntry> query = cb.createQuery(LedgerEntry.class);
+        Root<LedgerEntry> root = query.from(LedgerEntry.class);
+        query.where(predicates(filter, cb, root).toArray(Predicate[]::new));
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        orders.add(cb.desc(root.get("id")));
+        query.orderBy(orders);
+        List<LedgerEntry> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    /**
+     * Up to {@code limit} entries after {@code after} in (createdAt, id) descending order; null starts at the
+     * newest entry.
+     */
+    public List<LedgerEntry> findAfter(Filter filter, SeekCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LedgerEntry> query = cb.createQuery(LedgerEntry.class);
+        Root<LedgerEntry> root = query.from(LedgerEntry.class);
+        List<Predicate> predicates = predicates(filter, cb, root);
+        Path<Instant> createdAt = root.get("createdAt");
+        Path<Long> id = root.get("id");
+        if (after != null) {
+            after.requireOrder(SEEK_ORDER);
+            Instant value = Instant.parse(after.value());
+            predicates.add(cb.or(cb.lessThan(createdAt, value),
+                    cb.and(cb.equal(createdAt, value), cb.lessThan(id, after.id()))));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Filter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LedgerEntry> root = query.from(LedgerEntry.class);
+        query.select(cb.count(root)).where(predicates(filter, cb, root).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Predicate> predicates(Filter filter, CriteriaBuilder cb, Root<LedgerEntry> root) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.accountIds() != null) {
+            predicates.add(root.get("account").get("id").in(filter.accountIds()));
+        }
+        boolean hasCurrency = filter.currency() != null && !filter.currency().isBlank();
+        if (filter.userId() != null || hasCurrency) {
+            Join<LedgerEntry, Account> account = root.join("account");
+            if (filter.userId() != null) {
+                predicates.add(cb.equal(account.get("user").get("id"), filter.userId()));
+            }
+            if (hasCurrency) {
+                predicates.add(cb.equal(account.get("currency"), filter.currency().trim().toUpperCase()));
+            }
+        }
+        if (filter.type() != null) {
+            predicates.add(cb.equal(root.get("type"), filter.type()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.to()));
+        }
+        return predicates;
+    }
+}
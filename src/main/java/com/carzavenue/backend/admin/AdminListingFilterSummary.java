@@ -0,0 +1,114 @@
+package com.carzavenue.backend.admin;
+
+import com.carzavenue.backend.admin.dto.AdminListingFiltersResponse;
+import com.carzavenue.backend.car.PackageType;
+import com.carzavenue.backend.car.VehicleCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Filter options for the admin listing screen, computed in a single scan of {@code car_listing} and
+ * served from memory between refreshes. The owner and mileage lists grow with the table and are capped.
+ */
+@Component
+public class AdminListingFilterSummary {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminListingFilterSummary.class);
+
+    private static final String SUMMARY_SQL = """
+            SELECT array_agg(DISTINCT c.make ORDER BY c.make) FILTER (WHERE c.make IS NOT NULL) AS makes,
+                   array_agg(DISTINCT c.model ORDER BY c.model) FILTER (WHERE c.model IS NOT NULL) AS models,
+                   array_agg(DISTINCT c.listing_type ORDER BY c.listing_type) FILTER (WHERE c.listing_type <> '') AS listing_types,
+                   array_agg(DISTINCT c.category ORDER BY c.category) FILTER (WHERE c.category IS NOT NULL) AS categories,
+                   array_agg(DISTINCT c.fuel_type ORDER BY c.fuel_type) FILTER (WHERE c.fuel_type <> '') AS fuel_types,
+                   array_agg(DISTINCT c.transmission ORDER BY c.transmission) FILTER (WHERE c.transmission <> '') AS transmissions,
+                   array_agg(DISTINCT c.body_type ORDER BY c.body_type) FILTER (WHERE c.body_type <> '') AS body_types,
+                   array_agg(DISTINCT c.color ORDER BY c.color) FILTER (WHERE c.color <> '') AS colors,
+                   (array_agg(DISTINCT u.email ORDER BY u.email) FILTER (WHERE u.email IS NOT NULL))[1:?] AS owner_emails,
+                   (array_agg(DISTINCT u.name ORDER BY u.name) FILTER (WHERE u.name IS NOT NULL))[1:?] AS owner_names,
+                   array_agg(DISTINCT c.year ORDER BY c.year) FILTER (WHERE c.year IS NOT NULL) AS years,
+                   array_agg(DISTINCT c.engine_volume ORDER BY c.engine_volume) FILTER (WHERE c.engine_volume IS NOT NULL) AS engine_volumes,
+                   (array_agg(DISTINCT c.mileage ORDER BY c.mileage) FILTER (WHERE c.mileage IS NOT NULL))[1:?] AS mileages,
+                   min(c.price) AS min_price,
+                   max(c.price) AS max_price,
+                   (SELECT array_agg(DISTINCT p.package_type ORDER BY p.package_type)
+                      FROM car_listing_package_types p
+                      JOIN car_listing l ON l.id = p.car_id
+                     WHERE l.deleted_at IS NULL) AS package_types
+              FROM car_listing c
+              LEFT JOIN users u ON u.id = c.owner_id
+             WHERE c.deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxOptions;
+    private volatile AdminListingFiltersResponse current;
+
+    public AdminListingFilterSummary(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.admin.listing-filters.max-options:500}") int maxOptions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxOptions = maxOptions;
+    }
+
+    public AdminListingFiltersResponse get() {
+        AdminListingFiltersResponse summary = current;
+        if (summary == null) {
+            summary = compute();
+            current = summary;
+        }
+        return summary;
+    }
+
+    @Scheduled(initialDelayString = "${app.admin.listing-filters.refresh-interval-ms:60000}",
+            fixedDelayString = "${app.admin.listing-filters.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            current = compute();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Admin listing filter summary refresh failed", ex);
+        }
+    }
+
+    private AdminListingFiltersResponse compute() {
+        return jdbcTemplate.queryForObject(SUMMARY_SQL, (rs, rowNum) -> AdminListingFiltersResponse.builder()
+                .makes(list(rs, "makes", String.class::cast))
+                .models(list(rs, "models", String.class::cast))
+                .listingTypes(list(rs, "listing_types", String.class::cast))
+                .packageTypes(list(rs, "package_types", value -> PackageType.valueOf((String) value)))
+                .categories(list(rs, "categories", value -> VehicleCategory.valueOf((String) value)))
+                .fuelTypes(list(rs, "fuel_types", String.class::cast))
+                .transmissions(list(rs, "transmissions", String.class::cast))
+                .bodyTypes(list(rs, "body_types", String.class::cast))
+                .colors(list(rs, "colors", String.class::cast))
+                .ownerEmails(list(rs, "owner_emails", String.class::cast))
+                .ownerNames(list(rs, "owner_names", String.class::cast))
+                .years(list(rs, "years", value -> ((Number) value).intValue()))
+                .engineVolumes(list(rs, "engine_volumes", value -> ((Number) value).doubleValue()))
+                .mileages(list(rs, "mileages", value -> ((Number) value).intValue()))
+                .minPrice(rs.getObject("min_price") == null ? null : rs.getDouble("min_price"))
+                .maxPrice(rs.getObject("max_price") == null ? null : rs.getDouble("max_price"))
+                .build(), maxOptions, maxOptions, maxOptions);
+    }
+
+    private static <T> List<T> list(ResultSet rs, String column, Function<Object, T> mapper) throws SQLException {
+        Array array = rs.getArray(column);
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream((Object[]) array.getArray()).map(mapper).toList();
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -9,10 +9,15 @@ import com.carzavenue.backend.admin.dto.AdminPaymentConfigRequest;
 import com.carzavenue.backend.admin.dto.AdminPaymentConfigResponse;
 import com.carzavenue.backend.admin.dto.AdminListingFiltersResponse;
 import com.carzavenue.backend.admin.dto.AdminUserOption;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.common.CursorPage;
+import com.carzavenue.backend.common.SeekCursor;
 import com.carzavenue.backend.common.PageResponse;
 import com.carzavenue.backend.car.AdStatus;
 import com.carzavenue.backend.car.CarListing;
+import com.carzavenue.backend.car.CarListingChangedEvent;
 import com.carzavenue.backend.car.CarListingRepository;
+import com.carzavenue.backend.car.CarListingSnapshot;
 import com.carzavenue.backend.car.CarMapper;
 import com.carzavenue.backend.car.CarService;
 import com.carzavenue.backend.car.dto.CarRequest;
@@ -22,16 +27,18 @@ import com.carzavenue.backend.user.User;
 import com.carzavenue.backend.user.UserRepository;
 import com.carzavenue.backend.payment.AccountRepository;
 import com.carzavenue.backend.payment.Account;
-import com.carzavenue.backend.payment.LedgerEntryRepository;
 import com.carzavenue.backend.payment.LedgerEntry;
 import com.carzavenue.backend.payment.LedgerType;
 import com.carzavenue.backend.payment.dto.LedgerEntryResponse;
 import com.carzavenue.backend.payment.PaymentConfigService;
 import com.carzavenue.backend.payment.PaymentConfig;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -48,24 +55,48 @@ public class AdminService {
     private final UserRepository userRepository;
     private final CarService carService;
     private final AccountRepository accountRepository;
-    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AdminLedgerReader ledgerReader;
     private final PasswordEncoder passwordEncoder;
     private final PaymentConfigService paymentConfigService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final com.carzavenue.backend.car.VipExpirySweeper vipExpirySweeper;
+    private final com.carzavenue.backend.car.CarSearchCache searchCache;
+    private final AdminListingFilterSummary listingFilterSummary;
+    private final com.carzavenue.backend.car.CarListingReader listingReader;
+    private final AdminExporter exporter;
+    private final com.carzavenue.backend.payment.AccountBalanceService accountBalanceService;
+    private final com.carzavenue.backend.car.CarListingPurger listingPurger;
 
     public AdminService(CarListingRepository carListingRepository,
                         UserRepository userRepository,
                         CarService carService,
                         AccountRepository accountRepository,
-                        LedgerEntryRepository ledgerEntryRepository,
+                        AdminLedgerReader ledgerReader,
                         PasswordEncoder passwordEncoder,
-                        PaymentConfigService paymentConfigService) {
+                        PaymentConfigService paymentConfigService,
+                        ApplicationEventPublisher eventPublisher,
+                        com.carzavenue.backend.car.VipExpirySweeper vipExpirySweeper,
+                        com.carzavenue.backend.car.CarSearchCache searchCache,
+                        AdminListingFilterSummary listingFilterSummary,
+                        com.carzavenue.backend.car.CarListingReader listingReader,
+                        AdminExporter exporter,
+                        com.carzavenue.backend.payment.AccountBalanceService accountBalanceService,
+                        com.carzavenue.backend.car.CarListingPurger listingPurger) {
         this.carListingRepository = carListingRepository;
         this.userRepository = userRepository;
         this.carService = carService;
         this.accountRepository = accountRepository;
-        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerReader = ledgerReader;
         this.passwordEncoder = passwordEncoder;
         this.paymentConfigService = paymentConfigService;
+        this.eventPublisher = eventPublisher;
+        this.vipExpirySweeper = vipExpirySweeper;
+        this.searchCache = searchCache;
+        this.listingFilterSummary = listingFilterSummary;
+        this.listingReader = listingReader;
+        this.exporter = exporter;
+        this.accountBalanceService = accountBalanceService;
+        this.listingPurger = listingPurger;
     }
 
     @Transactional(readOnly = true)
@@ -75,8 +106,7 @@ public class AdminService {
         if (q == null || q.isBlank()) {
             users = userRepository.findAll(pageable);
         } else {
-            String query = q.trim();
-            users = userRepository.findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(query, query, pageable);
+            users = userRepository.searchByEmailOrName(com.carzavenue.backend.common.LikePatterns.contains(q), pageable);
         }
         return users.map(this::toAdminUser);
     }
@@ -95,6 +125,14 @@ public class AdminService {
                 .toList();
     }
 
+    public com.carzavenue.backend.payment.dto.AccountBalanceResponse getAccountBalance(Long accountId, Instant at) {
+        return accountBalanceService.balanceAt(accountId, at != null ? at : Instant.now());
+    }
+
+    public com.carzavenue.backend.payment.dto.AccountStatementResponse getAccountStatement(Long accountId, Instant from, Instant to) {
+        return accountBalanceService.statement(accountId, from, to != null ? to : Instant.now());
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<LedgerEntryResponse> getUserLedger(Long id,
                                                            String currency,
@@ -102,32 +140,13 @@ public class AdminService {
                                                            Instant from,
                                                            Instant to,
                                                            Pageable pageable) {
-        userRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("User not found"));
-        List<Account> accounts;
-        if (currency != null && !currency.isBlank()) {
-            accounts = accountRepository.findByUserId(id).stream()
-                    .filter(account -> currency.trim().equalsIgnoreCase(account.getCurrency()))
-                    .toList();
-        } else {
-            accounts = accountRepository.findByUserId(id);
-        }
-        if (accounts.isEmpty()) {
+        List<Long> accountIds = userLedgerAccountIds(id, currency);
+        if (accountIds.isEmpty()) {
             return PageResponse.from(Page.empty(pageable));
         }
-        List<Long> accountIds = accounts.stream().map(Account::getId).toList();
-        Page<LedgerEntry> page;
-        boolean hasType = type != null;
-        boolean hasRange = from != null && to != null;
-        if (hasType && hasRange) {
-            page = ledgerEntryRepository.findByAccountIdInAndTypeAndCreatedAtBetween(accountIds, type, from, to, pageable);
-        } else if (hasType) {
-            page = ledgerEntryRepository.findByAccountIdInAndType(accountIds, type, pageable);
-        } else if (hasRange) {
-            page = ledgerEntryRepository.findByAccountIdInAndCreatedAtBetween(accountIds, from, to, pageable);
-        } else {
-            page = ledgerEntryRepository.findByAccountIdIn(accountIds, pageable);
-        }
-        return PageResponse.from(page.map(this::toLedgerResponse));
+        Page<LedgerEntry> page = ledgerReader.findPage(
+                new AdminLedgerReader.Filter(accountIds, null, null, type, from, to), pageable);
+        return PageResponse.from(toLedgerResponses(page));
     }
 
     @Transactional(readOnly = true)
@@ -137,17 +156,65 @@ public class AdminService {
                                                        Instant from,
                                                        Instant to,
                                                        Pageable pageable) {
-        Page<LedgerEntry> page;
-        if (from == null && to == null) {
-            page = ledgerEntryRepository.findAdminLedgerNoRange(userId, currency, type, pageable);
-        } else if (from != null && to == null) {
-            page = ledgerEntryRepository.findAdminLedgerFrom(userId, currency, type, from, pageable);
-        } else if (from == null) {
-            page = ledgerEntryRepository.findAdminLedgerTo(userId, currency, type, to, pageable);
-        } else {
-            page = ledgerEntryRepository.findAdminLedger(userId, currency, type, from, to, pageable);
+        Page<LedgerEntry> page = ledgerReader.findPage(
+                new AdminLedgerReader.Filter(null, userId, currency, type, from, to), pageable);
+        return PageResponse.from(toLedgerResponses(page));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LedgerEntryResponse> getUserLedgerByCursor(Long id,
+                                                                 String currency,
+                                                                 LedgerType type,
+                                                                 Instant from,
+                                                                 Instant to,
+                                                                 String cursor,
+                                                                 int size) {
+        List<Long> accountIds = userLedgerAccountIds(id, currency);
+        if (accountIds.isEmpty()) {
+            return CursorPage.of(List.of(), size, null);
         }
-        return PageResponse.from(page.map(this::toLedgerResponse));
+        return ledgerCursorPage(new AdminLedgerReader.Filter(accountIds, null, null, type, from, to), cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LedgerEntryResponse> getLedgerByCursor(Long userId,
+                                                             String currency,
+                                                             LedgerType type,
+                                                             Instant from,
+                                                             Instant to,
+                                                             String cursor,
+                                                             int size) {
+        return ledgerCursorPage(new AdminLedgerReader.Filter(null, userId, currency, type, from, to), cursor, size);
+    }
+
+    private List<Long> userLedgerAccountIds(Long id, String currency) {
+        userRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("User not found"));
+        return accountRepository.findByUserId(id).stream()
+                .filter(account -> currency == null || currency.isBlank()
+                        || currency.trim().equalsIgnoreCase(account.getCurrency()))
+                .map(Account::getId)
+                .toList();
+    }
+
+    private CursorPage<LedgerEntryResponse> ledgerCursorPage(AdminLedgerReader.Filter filter, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        SeekCursor after = cursor == null || cursor.isBlank() ? null : SeekCursor.decode(cursor);
+        // One extra row only signals that another page exists
+        List<LedgerEntry> rows = ledgerReader.findAfter(filter, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<LedgerEntry> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            LedgerEntry last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new SeekCursor(AdminLedgerReader.SEEK_ORDER.getProperty(), AdminLedgerReader.SEEK_ORDER.getDirection(),
+                    last.getCreatedAt().toString(), last.getId()).encode();
+        }
+        java.util.Map<Long, User> owners = resolveLedgerOwners(pageRows);
+        return CursorPage.of(pageRows.stream()
+                .map(entry -> toLedgerResponse(entry, owners.get(entry.getId())))
+                .toList(), size, nextCursor);
     }
 
     @Transactional
@@ -256,7 +323,8 @@ public class AdminService {
                                                       java.time.LocalDateTime createdFrom,
                                                       java.time.LocalDateTime createdTo,
                                                       Long sellerId,
-                                                      String sellerEmail) {
+                                                      String sellerEmail,
+                                                      CountMode countMode) {
         Sort resolvedSort = resolveSort(sort);
         Pageable pageable = PageRequest.of(page, size, resolvedSort);
         java.time.ZoneId zoneId = java.time.ZoneId.systemDefault();
@@ -264,7 +332,45 @@ public class AdminService {
         java.time.Instant createdToInstant = createdTo == null ? null : createdTo.atZone(zoneId).toInstant();
         Specification<CarListing> spec = buildListingSpec(status, q, makeId, modelId, locationId,
                 priceMin, priceMax, createdFromInstant, createdToInstant, sellerId, sellerEmail);
-        return PageResponse.from(carListingRepository.findAll(spec, pageable).map(this::toAdminListing));
+        Slice<AdminListingResponse> ads = listingReader.findEntityPage(spec, pageable, countMode, this::toAdminListing);
+        if (ads instanceof Page<AdminListingResponse> counted) {
+            return PageResponse.from(counted);
+        }
+        // Without a count the total is a lower bound that only signals whether another page exists
+        return PageResponse.from(new PageImpl<>(ads.getContent(), pageable,
+                pageable.getOffset() + ads.getNumberOfElements() + (ads.hasNext() ? 1 : 0)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AdminListingResponse> listAdsByCursor(String cursor,
+                                                            int size,
+                                                            String sort,
+                                                            AdStatus status,
+                                                            String q,
+                                                            String makeId,
+                                                            String modelId,
+                                                            String locationId,
+                                                            Double priceMin,
+                                                            Double priceMax,
+                                                            java.time.LocalDateTime createdFrom,
+                                                            java.time.LocalDateTime createdTo,
+                                                            Long sellerId,
+                                                            String sellerEmail) {
+        java.time.ZoneId zoneId = java.time.ZoneId.systemDefault();
+        java.time.Instant createdFromInstant = createdFrom == null ? null : createdFrom.atZone(zoneId).toInstant();
+        java.time.Instant createdToInstant = createdTo == null ? null : createdTo.atZone(zoneId).toInstant();
+        Specification<CarListing> spec = buildListingSpec(status, q, makeId, modelId, locationId,
+                priceMin, priceMax, createdFromInstant, createdToInstant, sellerId, sellerEmail);
+        Sort.Order order = resolveSort(sort).iterator().next();
+        return carService.seekPage(spec, order, cursor, size, this::toAdminListing);
+    }
+
+    public com.carzavenue.backend.car.VipExpirySweeper.Stats vipSweepStats() {
+        return vipExpirySweeper.stats();
+    }
+
+    public com.carzavenue.backend.car.CarSearchCache.Stats searchCacheStats() {
+        return searchCache.stats();
     }
 
     @Transactional(readOnly = true)
@@ -278,6 +384,12 @@ public class AdminService {
         return carService.create(request.getOwnerId(), request);
     }
 
+    @Transactional
+    public com.carzavenue.backend.car.dto.CarBulkImportResponse bulkCreateAds(Long ownerId, java.io.InputStream body,
+                                                                            String contentType) throws java.io.IOException {
+        return carService.bulkCreate(ownerId, body, contentType);
+    }
+
     @Transactional
     public CarResponse createAdWithImages(Long ownerId, CarRequest request,
                                           org.springframework.web.multipart.MultipartFile[] images) throws java.io.IOException {
@@ -299,30 +411,37 @@ public class AdminService {
     @Transactional
     public AdminListingResponse updateAdStatus(Long id, AdStatus status) {
         CarListing car = carListingRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Listing not found"));
+        CarListingSnapshot before = CarListingSnapshot.of(car);
         car.setStatus(status);
         car.setActive(status == AdStatus.ACTIVE);
         carListingRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.updated(before, car));
         return toAdminListing(car);
     }
 
     @Transactional
     public AdminListingResponse updateAdPackageType(Long id, com.carzavenue.backend.car.PackageType packageType) {
         CarListing car = carListingRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Listing not found"));
+        CarListingSnapshot before = CarListingSnapshot.of(car);
         car.setPackageType(packageType);
         if (packageType == null) {
             car.setPackageTypes(new java.util.ArrayList<>());
         } else {
             car.setPackageTypes(new java.util.ArrayList<>(List.of(packageType)));
         }
+        car.setPackageTypeMask(com.carzavenue.backend.car.PackageTypeMask.of(packageType, car.getPackageTypes()));
         carListingRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.updated(before, car));
         return toAdminListing(car);
     }
 
     @Transactional
     public AdminListingResponse updateAdCategory(Long id, com.carzavenue.backend.car.VehicleCategory category) {
         CarListing car = carListingRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Listing not found"));
+        CarListingSnapshot before = CarListingSnapshot.of(car);
         car.setCategory(category);
         carListingRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.updated(before, car));
         return toAdminListing(car);
     }
 
@@ -333,9 +452,40 @@ public class AdminService {
                 .toList();
     }
 
+    public Instant exportWatermark() {
+        return exporter.watermark();
+    }
+
+    public void exportListings(Long ownerId, AdStatus status, com.carzavenue.backend.car.VehicleCategory category, Boolean active,
+                               Instant since, Instant until, AdminExporter.Format format, boolean gzip,
+                               java.io.OutputStream out) throws java.io.IOException {
+        exporter.listings(ownerId, status, category, active, since, until, format, gzip, out);
+    }
+
+    public void exportUsers(com.carzavenue.backend.user.Role role, Boolean blocked,
+                            Instant since, Instant until, AdminExporter.Format format, boolean gzip,
+                            java.io.OutputStream out) throws java.io.IOException {
+        exporter.users(role, blocked, since, until, format, gzip, out);
+    }
+
+    public void exportLedger(Long userId, String currency, LedgerType type,
+                             Instant since, Instant until, AdminExporter.Format format, boolean gzip,
+                             java.io.OutputStream out) throws java.io.IOException {
+        exporter.ledger(userId, currency, type, since, until, format, gzip, out);
+    }
+
     @Transactional
     public void deleteListing(Long id) {
-        carListingRepository.deleteById(id);
+        carService.deleteAll(List.of(id));
+    }
+
+    @Transactional
+    public int deleteListings(List<Long> ids) {
+        return carService.deleteAll(ids);
+    }
+
+    public com.carzavenue.backend.car.CarListingPurger.Stats purgeStats() {
+        return listingPurger.stats();
     }
 
     private AdminUserResponse toAdminUser(User user) {
@@ -364,28 +514,72 @@ public class AdminService {
                 .build();
     }
 
-    private LedgerEntryResponse toLedgerResponse(LedgerEntry entry) {
-        User owner = null;
-        Account account = entry.getAccount();
-        if (account != null) {
-            owner = account.getUser();
-            if (owner == null && account.getId() != null) {
-                owner = accountRepository.findById(account.getId())
-                        .map(Account::getUser)
-                        .orElse(null);
+    private Page<LedgerEntryResponse> toLedgerResponses(Page<LedgerEntry> page) {
+        java.util.Map<Long, User> owners = resolveLedgerOwners(page.getContent());
+        return page.map(entry -> toLedgerResponse(entry, owners.get(entry.getId())));
+    }
+
+    /**
+     * Owner of each entry, keyed by entry id: the account's user, else the user whose id is the numeric
+     * reference id, else the local admin for seed entries. Accounts and users are each loaded with one
+     * IN query for the whole page instead of per entry.
+     */
+    private java.util.Map<Long, User> resolveLedgerOwners(List<LedgerEntry> entries) {
+        java.util.Set<Long> accountIds = new java.util.HashSet<>();
+        for (LedgerEntry entry : entries) {
+            if (entry.getAccount() != null && entry.getAccount().getId() != null) {
+                accountIds.add(entry.getAccount().getId());
+            }
+        }
+        java.util.Map<Long, Long> userIdByAccountId = new java.util.HashMap<>();
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            if (account.getUser() != null) {
+                userIdByAccountId.put(account.getId(), account.getUser().getId());
             }
         }
-        if (owner == null && entry.getReferenceId() != null) {
-            String ref = entry.getReferenceId().trim();
-            try {
-                Long refUserId = Long.parseLong(ref);
-                owner = userRepository.findById(refUserId).orElse(null);
-            } catch (NumberFormatException ignored) {
-                if ("seed".equalsIgnoreCase(entry.getReferenceType()) && "local-admin".equalsIgnoreCase(ref)) {
-                    owner = userRepository.findByEmail("admin@local.test").orElse(null);
+
+        java.util.Map<Long, Long> userIdByEntryId = new java.util.HashMap<>();
+        boolean needsSeedAdmin = false;
+        for (LedgerEntry entry : entries) {
+            Long userId = entry.getAccount() != null ? userIdByAccountId.get(entry.getAccount().getId()) : null;
+            if (userId == null && entry.getReferenceId() != null) {
+                String ref = entry.getReferenceId().trim();
+                try {
+                    userId = Long.parseLong(ref);
+                } catch (NumberFormatException ignored) {
+                    needsSeedAdmin |= isSeedAdminReference(entry);
                 }
             }
+            if (userId != null) {
+                userIdByEntryId.put(entry.getId(), userId);
+            }
         }
+        java.util.Map<Long, User> users = new java.util.HashMap<>();
+        userRepository.findAllById(new java.util.HashSet<>(userIdByEntryId.values()))
+                .forEach(user -> users.put(user.getId(), user));
+        User seedAdmin = needsSeedAdmin ? userRepository.findByEmail("admin@local.test").orElse(null) : null;
+
+        java.util.Map<Long, User> owners = new java.util.HashMap<>();
+        for (LedgerEntry entry : entries) {
+            Long userId = userIdByEntryId.get(entry.getId());
+            User owner = userId != null ? users.get(userId) : null;
+            if (owner == null && userId == null && isSeedAdminReference(entry)) {
+                owner = seedAdmin;
+            }
+            if (owner != null) {
+                owners.put(entry.getId(), owner);
+            }
+        }
+        return owners;
+    }
+
+    private boolean isSeedAdminReference(LedgerEntry entry) {
+        return entry.getReferenceId() != null
+                && "seed".equalsIgnoreCase(entry.getReferenceType())
+                && "local-admin".equalsIgnoreCase(entry.getReferenceId().trim());
+    }
+
+    private LedgerEntryResponse toLedgerResponse(LedgerEntry entry, User owner) {
         String username = null;
         if (owner != null && owner.getEmail() != null) {
             String email = owner.getEmail();
@@ -484,19 +678,19 @@ public class AdminService {
                 predicates.add(cb.equal(root.get("status"), status));
             }
             if (makeId != null && !makeId.isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("make")), "%" + makeId.trim().toLowerCase() + "%"));
+                predicates.add(com.carzavenue.backend.car.CarSpecifications.contains(cb, root.get("make"), makeId));
             }
             if (modelId != null && !modelId.isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("model")), "%" + modelId.trim().toLowerCase() + "%"));
+                predicates.add(com.carzavenue.backend.car.CarSpecifications.contains(cb, root.get("model"), modelId));
             }
             if (locationId != null && !locationId.isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("location")), "%" + locationId.trim().toLowerCase() + "%"));
+                predicates.add(com.carzavenue.backend.car.CarSpecifications.contains(cb, root.get("location"), locationId));
             }
             if (sellerId != null) {
                 predicates.add(cb.equal(root.get("owner").get("id"), sellerId));
             }
             if (sellerEmail != null && !sellerEmail.isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("owner").get("email")), "%" + sellerEmail.trim().toLowerCase() + "%"));
+                predicates.add(com.carzavenue.backend.car.CarSpecifications.contains(cb, root.get("owner").get("email"), sellerEmail));
             }
             if (priceMin != null) {
                 predicates.add(cb.greaterThanOrEqualTo(root.get("price"), priceMin));
@@ -511,15 +705,13 @@ public class AdminService {
                 predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), createdTo));
             }
             if (q != null && !q.isBlank()) {
-                String like = "%" + q.trim().toLowerCase() + "%";
-                var ownerEmailPath = cb.lower(root.get("owner").get("email"));
-                predicates.add(cb.or(
-                        cb.like(cb.lower(root.get("title")), like),
-                        cb.like(cb.lower(root.get("make")), like),
-                        cb.like(cb.lower(root.get("model")), like),
-                        cb.like(cb.lower(root.get("location")), like),
-                        cb.like(ownerEmailPath, like)
-                ));
+                // Emails are not part of the search vector, so a q that looks like one searches sellers instead
+                if (q.contains("@")) {
+                    predicates.add(com.carzavenue.backend.car.CarSpecifications.contains(cb, root.get("owner").get("email"), q));
+                } else {
+                    predicates.add(com.carzavenue.backend.car.CarSpecifications.fullText(q.trim())
+                            .toPredicate(root, query, cb));
+                }
             }
             return cb.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
         };
@@ -540,26 +732,8 @@ public class AdminService {
                 : Sort.by(Sort.Order.asc(field));
     }
 
-    @Transactional(readOnly = true)
     public AdminListingFiltersResponse listingFilters() {
-        return AdminListingFiltersResponse.builder()
-                .makes(carListingRepository.findDistinctMakes())
-                .models(carListingRepository.findDistinctModels())
-                .listingTypes(carListingRepository.findDistinctListingTypes())
-                .packageTypes(carListingRepository.findDistinctPackageTypes())
-                .categories(carListingRepository.findDistinctCategories())
-                .fuelTypes(carListingRepository.findDistinctFuelTypes())
-                .transmissions(carListingRepository.findDistinctTransmissions())
-                .bodyTypes(carListingRepository.findDistinctBodyTypes())
-                .colors(carListingRepository.findDistinctColors())
-                .ownerEmails(carListingRepository.findDistinctOwnerEmails())
-                .ownerNames(carListingRepository.findDistinctOwnerNames())
-                .years(carListingRepository.findDistinctYears())
-                .engineVolumes(carListingRepository.findDistinctEngineVolumes())
-                .mileages(carListingRepository.findDistinctMileages())
-                .minPrice(carListingRepository.findMinPrice())
-                .maxPrice(carListingRepository.findMaxPrice())
-                .build();
+        return listingFilterSummary.get();
     }
 
     @Transactional(readOnly = true)
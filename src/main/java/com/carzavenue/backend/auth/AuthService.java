@@ -1,6 +1,7 @@
 package com.carzavenue.backend.auth;
 
 import com.carzavenue.backend.auth.dto.*;
+import com.carzavenue.backend.car.CarService;
 import com.carzavenue.backend.security.JwtService;
 import com.carzavenue.backend.user.AuthProvider;
 import com.carzavenue.backend.user.Role;
@@ -25,17 +26,20 @@ public class AuthService {
     private final JwtService jwtService;
     private final RefreshTokenRepository refreshTokenRepository;
     private final AuthenticationManager authenticationManager;
+    private final CarService carService;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
                        RefreshTokenRepository refreshTokenRepository,
-                       AuthenticationManager authenticationManager) {
+                       AuthenticationManager authenticationManager,
+                       CarService carService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.refreshTokenRepository = refreshTokenRepository;
         this.authenticationManager = authenticationManager;
+        this.carService = carService;
     }
 
     @Transactional
@@ -92,6 +96,7 @@ public class AuthService {
                 user.setProvider(AuthProvider.GOOGLE);
                 if (user.getName() == null || user.getName().isBlank()) {
                     user.setName((name == null || name.isBlank()) ? email : name);
+                    carService.syncSeller(user);
                 }
             }
             userRepository.save(user);
@@ -140,6 +145,7 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(user.getEmail(), request.getPassword()));
         user.setEmail(request.getNewEmail());
         userRepository.save(user);
+        carService.syncSeller(user);
     }
 
     private TokenResponse issueTokens(User user) {
@@ -0,0 +1,215 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads a bulk import body one record at a time: NDJSON (one {@code CarRequest} object per line) or CSV
+ * with a header row of {@code CarRequest} field names. List fields in CSV are separated by {@code |}.
+ * Malformed records become rows carrying an error instead of failing the whole import. Rows are handed on
+ * in chunks as they are read, so the body is never held in memory as a whole.
+ */
+@Component
+public class CarBulkParser {
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+    private static final Set<String> LIST_FIELDS = Set.of("packageTypes", "photos", "images");
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final int maxRows;
+
+    public CarBulkParser(ObjectMapper objectMapper,
+                         @Value("${app.cars.bulk.max-rows:1000}") int maxRows) {
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(CarRequest.class);
+        this.maxRows = maxRows;
+    }
+
+    public record Row(int line, CarRequest request, String error) {
+    }
+
+    /**
+     * Reads {@code body} and passes its rows to {@code chunk} in file order, at most {@code chunkSize} at a
+     * time. Returns the number of rows read; more than {@code app.cars.bulk.max-rows} fails the import.
+     */
+    public int parse(InputStream body, String contentType, int chunkSize, Consumer<List<Row>> chunk) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Chunks rows = new Chunks(chunkSize, chunk);
+        if (contentType != null && contentType.toLowerCase().startsWith(CSV)) {
+            parseCsv(reader, rows);
+        } else if (contentType != null && contentType.toLowerCase().startsWith(NDJSON)) {
+            parseNdjson(reader, rows);
+        } else {
+            throw new IllegalArgumentException("Bulk import expects " + NDJSON + " or " + CSV);
+        }
+        rows.flush();
+        return rows.count;
+    }
+
+    private void parseNdjson(BufferedReader reader, Chunks rows) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                rows.add(new Row(lineNumber, requestReader.readValue(line), null));
+            } catch (JsonProcessingException ex) {
+                rows.add(new Row(lineNumber, null, "Invalid JSON: " + ex.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void parseCsv(BufferedReader reader, Chunks rows) throws IOException {
+        CsvRecords records = new CsvRecords(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return;
+        }
+        List<String> record;
+        while ((record = records.next()) != null) {
+            int lineNumber = records.recordStartLine;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (record.size() != header.size()) {
+                rows.add(new Row(lineNumber, null, "Expected " + header.size() + " columns but found " + record.size()));
+                continue;
+            }
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim();
+                String value = record.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                fields.put(name, LIST_FIELDS.contains(name) ? Arrays.asList(value.split("\\|")) : value);
+            }
+            try {
+                rows.add(new Row(lineNumber, objectMapper.convertValue(fields, CarRequest.class), null));
+            } catch (IllegalArgumentException ex) {
+                rows.add(new Row(lineNumber, null, "Invalid row: " + ex.getMessage()));
+            }
+        }
+    }
+
+    private final class Chunks {
+        private final int size;
+        private final Consumer<List<Row>> consumer;
+        private List<Row> buffer = new ArrayList<>();
+        private int count;
+
+        private Chunks(int size, Consumer<List<Row>> consumer) {
+            if (size < 1) {
+                throw new IllegalArgumentException("chunk size must be positive");
+            }
+            this.size = size;
+            this.consumer = consumer;
+        }
+
+        void add(Row row) {
+            if (count >= maxRows) {
+                throw new IllegalArgumentException("Bulk import is limited to " + maxRows + " rows");
+            }
+            count++;
+            buffer.add(row);
+            if (buffer.size() >= size) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!buffer.isEmpty()) {
+                List<Row> chunk = buffer;
+                buffer = new ArrayList<>();
+                consumer.accept(chunk);
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 records: quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private static final class CsvRecords {
+        private final BufferedReader reader;
+        private int line = 1;
+        private int recordStartLine;
+        private boolean done;
+
+        private CsvRecords(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            if (done) {
+                return null;
+            }
+            recordStartLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            done = true;
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.carzavenue.backend.car;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk imports. Ids are taken from the listing sequence up front, so the rows,
+ * photos and package types all go out as batches instead of one IDENTITY round trip per listing.
+ */
+@Component
+public class CarBulkWriter {
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('car_listing', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_LISTING_SQL = "INSERT INTO car_listing (id, owner_id, title, listing_type, make,"
+            + " model, contact_phone, seller_name, seller_email, seller_phone, vin_code, year, mileage, fuel_type,"
+            + " transmission, body_type, engine_volume, color, price, description, location, image_id, is_active,"
+            + " is_vip, vip_expires_at, package_type, package_type_mask, category, status, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PHOTO_SQL = "INSERT INTO car_photos (car_id, url) VALUES (?, ?)";
+    private static final String INSERT_PACKAGE_TYPE_SQL =
+            "INSERT INTO car_listing_package_types (car_id, package_type) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CarBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> nextIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, count);
+    }
+
+    /**
+     * Inserts listings that already carry their id, owner and timestamps. Runs in the caller's transaction.
+     */
+    public void insert(List<CarListing> cars) {
+        jdbcTemplate.batchUpdate(INSERT_LISTING_SQL, cars, cars.size(), (ps, car) -> {
+            ps.setLong(1, car.getId());
+            ps.setLong(2, car.getOwner().getId());
+            ps.setString(3, car.getTitle());
+            ps.setString(4, car.getListingType());
+            ps.setString(5, car.getMake());
+            ps.setString(6, car.getModel());
+            ps.setString(7, car.getContactPhone());
+            ps.setString(8, car.getSellerName());
+            ps.setString(9, car.getSellerEmail());
+            ps.setString(10, car.getSellerPhone());
+            ps.setString(11, car.getVinCode());
+            ps.setObject(12, car.getYear(), Types.INTEGER);
+            ps.setObject(13, car.getMileage(), Types.INTEGER);
+            ps.setString(14, car.getFuelType());
+            ps.setString(15, car.getTransmission());
+            ps.setString(16, car.getBodyType());
+            ps.setObject(17, car.getEngineVolume(), Types.DOUBLE);
+            ps.setString(18, car.getColor());
+            ps.setObject(19, car.getPrice(), Types.DOUBLE);
+            ps.setString(20, car.getDescription());
+            ps.setString(21, car.getLocation());
+            ps.setObject(22, car.getImageId(), Types.BIGINT);
+            ps.setBoolean(23, car.isActive());
+            ps.setBoolean(24, car.isVip());
+            ps.setTimestamp(25, car.getVipExpiresAt() == null ? null : Timestamp.from(car.getVipExpiresAt()));
+            ps.setString(26, car.getPackageType().name());
+            ps.setInt(27, car.getPackageTypeMask());
+            ps.setString(28, car.getCategory().name());
+            ps.setString(29, car.getStatus().name());
+            ps.setTimestamp(30, Timestamp.from(car.getCreatedAt()));
+            ps.setTimestamp(31, Timestamp.from(car.getUpdatedAt()));
+        });
+        List<Object[]> photos = new ArrayList<>();
+        List<Object[]> packageTypes = new ArrayList<>();
+        for (CarListing car : cars) {
+            car.getPhotos().forEach(url -> photos.add(new Object[]{car.getId(), url}));
+            car.getPackageTypes().forEach(packageType -> packageTypes.add(new Object[]{car.getId(), packageType.name()}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PHOTO_SQL, photos);
+        jdbcTemplate.batchUpdate(INSERT_PACKAGE_TYPE_SQL, packageTypes);
+    }
+}
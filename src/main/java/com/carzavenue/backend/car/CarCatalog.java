@@ -0,0 +1,262 @@
+package com.carzavenue.backend.car;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-through copy of the manufacturer/model catalog: case-insensitive lookups plus a prefix trie
+ * for typeahead. Inserts made here are applied after commit; inserts made by other nodes are picked up
+ * on the first miss or by the periodic reload.
+ */
+@Component
+public class CarCatalog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CarCatalog.class);
+
+    private final CarManufacturerRepository manufacturerRepository;
+    private final CarModelRepository modelRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Manufacturer> byName = new HashMap<>();
+    private Map<Long, Manufacturer> byId = new HashMap<>();
+    private List<Manufacturer> inIdOrder = new ArrayList<>();
+    private TrieNode trie = new TrieNode();
+    private volatile boolean ready;
+
+    public CarCatalog(CarManufacturerRepository manufacturerRepository, CarModelRepository modelRepository) {
+        this.manufacturerRepository = manufacturerRepository;
+        this.modelRepository = modelRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${app.catalog.reload-interval-ms:600000}",
+            fixedDelayString = "${app.catalog.reload-interval-ms:600000}")
+    public void reload() {
+        try {
+            Map<String, Manufacturer> freshByName = new HashMap<>();
+            List<Manufacturer> freshInIdOrder = new ArrayList<>();
+            Map<Long, Manufacturer> freshById = new HashMap<>();
+            TrieNode freshTrie = new TrieNode();
+            for (CarManufacturer carManufacturer : manufacturerRepository.findAllByOrderByIdAsc()) {
+                Manufacturer manufacturer = new Manufacturer(carManufacturer.getId(), carManufacturer.getName());
+                if (freshByName.putIfAbsent(key(manufacturer.name), manufacturer) == null) {
+                    freshInIdOrder.add(manufacturer);
+                    freshById.put(manufacturer.id, manufacturer);
+                    freshTrie.insert(key(manufacturer.name), manufacturer.name);
+                }
+            }
+            for (CarModel model : modelRepository.findAll()) {
+                Manufacturer manufacturer = freshById.get(model.getManufacturer().getId());
+                if (manufacturer != null) {
+                    manufacturer.models.putIfAbsent(key(model.getName()), model.getName());
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                byName = freshByName;
+                byId = freshById;
+                inIdOrder = freshInIdOrder;
+                trie = freshTrie;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error("Car catalog reload failed", ex);
+        }
+    }
+
+    /**
+     * All manufacturer names in insertion order, or empty while the catalog is not loaded.
+     */
+    public Optional<List<String>> manufacturers() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(inIdOrder.stream().map(manufacturer -> manufacturer.name).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Models of a known manufacturer sorted by name, or empty when the manufacturer is not in the catalog.
+     */
+    public Optional<List<String>> models(String manufacturer) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Manufacturer entry = byName.get(key(manufacturer));
+            return entry == null ? Optional.empty() : Optional.of(List.copyOf(entry.models.values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Long> manufacturerId(String manufacturer) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Manufacturer entry = byName.get(key(manufacturer));
+            return entry == null ? Optional.empty() : Optional.of(entry.id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String manufacturer, String model) {
+        if (!ready) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            Manufacturer entry = byName.get(key(manufacturer));
+            return entry != null && entry.models.containsKey(key(model));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} manufacturer names starting with {@code prefix}, ignoring case, in alphabetical order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            TrieNode node = trie.find(key(prefix));
+            List<String> names = new ArrayList<>(Math.min(limit, 16));
+            if (node != null) {
+                node.collect(names, limit);
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a manufacturer and model confirmed to exist, once the current transaction commits.
+     */
+    public void add(CarManufacturer manufacturer, String model) {
+        Long id = manufacturer.getId();
+        // Known manufacturers arrive as uninitialized references; only read the name when it is new here
+        String name = knows(id) ? null : manufacturer.getName();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Manufacturer entry = name == null ? byId.get(id) : byName.get(key(name));
+                if (entry == null && name != null) {
+                    entry = new Manufacturer(id, name);
+                    byName.put(key(name), entry);
+                    byId.put(id, entry);
+                    inIdOrder.add(entry);
+                    trie.insert(key(name), name);
+                }
+                if (entry != null) {
+                    entry.models.putIfAbsent(key(model), model);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private boolean knows(Long id) {
+        lock.readLock().lock();
+        try {
+            return byId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    private static final class Manufacturer {
+        private final Long id;
+        private final String name;
+        private final TreeMap<String, String> models = new TreeMap<>();
+
+        private Manufacturer(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class TrieNode {
+        private final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        private String name;
+
+        void insert(String key, String value) {
+            TrieNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+            }
+            node.name = value;
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        void collect(List<String> out, int limit) {
+            if (out.size() >= limit) {
+                return;
+            }
+            if (name != null) {
+                out.add(name);
+            }
+            for (TrieNode child : children.values()) {
+                if (out.size() >= limit) {
+                    return;
+                }
+                child.collect(out, limit);
+            }
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.carzavenue.backend.car;
 
+import com.carzavenue.backend.car.dto.CarBulkImportResponse;
+import com.carzavenue.backend.car.dto.CarFacetsResponse;
+import com.carzavenue.backend.car.dto.CarHistogramsResponse;
 import com.carzavenue.backend.car.dto.CarMultipartRequest;
 import com.carzavenue.backend.car.dto.CarRequest;
 import com.carzavenue.backend.car.dto.CarResponse;
 import com.carzavenue.backend.common.ApiResponse;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.common.CursorPage;
 import com.carzavenue.backend.common.PageResponse;
 import com.carzavenue.backend.security.SecurityUser;
 import com.carzavenue.backend.user.Role;
@@ -13,15 +18,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Optional;
 
@@ -37,9 +45,10 @@ public class CarController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<CarResponse>>> list(
+    public ResponseEntity<ApiResponse<Slice<CarResponse>>> list(
             @RequestParam(value = "make", required = false) String make,
             @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "packageType", required = false) java.util.List<String> packageTypes,
             @RequestParam(value = "packageType[]", required = false) java.util.List<String> packageTypesBracket,
             @RequestParam(value = "category", required = false) java.util.List<String> categories,
@@ -58,10 +67,69 @@ public class CarController {
             @RequestParam(value = "all", required = false, defaultValue = "false") boolean all,
             @RequestParam(value = "page", required = false, defaultValue = "0") int page,
             @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+            @RequestParam(value = "sort", required = false, defaultValue = "newest") String sort,
+            @RequestParam(value = "count", required = false) String count,
+            WebRequest webRequest
+    ) {
+        CarSearchCriteria criteria = toCriteria(
+                q,
+                make,
+                model,
+                parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
+                parseCategories(mergeListParams(categories, categoriesBracket)),
+                yearMin,
+                yearMax,
+                priceMin,
+                priceMax,
+                fuelType,
+                transmission,
+                bodyType,
+                mileageMin,
+                mileageMax,
+                location,
+                isVip
+        );
+        CountMode countMode = CountMode.from(count, CountMode.EXACT);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Optional<CarSearchIndex.Watermark> watermark = all ? Optional.empty() : carService.listWatermark(criteria);
+        if (watermark.isPresent()) {
+            String eTag = listETag(watermark.get(), criteria, page, size, sort + "|" + countMode);
+            if (webRequest.checkNotModified(eTag, watermark.get().lastModified())) {
+                return null;
+            }
+            response.eTag(eTag).lastModified(watermark.get().lastModified());
+        }
+        return response.body(ApiResponse.ok(carService.list(criteria, all, page, size, sort, countMode)));
+    }
+
+    @GetMapping(params = {"cursor", "all!=true"})
+    public ResponseEntity<ApiResponse<CursorPage<CarResponse>>> listByCursor(
+            @RequestParam(value = "make", required = false) String make,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "packageType", required = false) java.util.List<String> packageTypes,
+            @RequestParam(value = "packageType[]", required = false) java.util.List<String> packageTypesBracket,
+            @RequestParam(value = "category", required = false) java.util.List<String> categories,
+            @RequestParam(value = "category[]", required = false) java.util.List<String> categoriesBracket,
+            @RequestParam(value = "yearMin", required = false) Integer yearMin,
+            @RequestParam(value = "yearMax", required = false) Integer yearMax,
+            @RequestParam(value = "priceMin", required = false) Double priceMin,
+            @RequestParam(value = "priceMax", required = false) Double priceMax,
+            @RequestParam(value = "fuelType", required = false) String fuelType,
+            @RequestParam(value = "transmission", required = false) String transmission,
+            @RequestParam(value = "bodyType", required = false) String bodyType,
+            @RequestParam(value = "mileageMin", required = false) Integer mileageMin,
+            @RequestParam(value = "mileageMax", required = false) Integer mileageMax,
+            @RequestParam(value = "location", required = false) String location,
+            @RequestParam(value = "isVip", required = false) Boolean isVip,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "10") int size,
             @RequestParam(value = "sort", required = false, defaultValue = "newest") String sort
     ) {
         return ResponseEntity.ok(ApiResponse.ok(
-                carService.list(
+                carService.listByCursor(
+                toCriteria(
+                        q,
                         make,
                         model,
                         parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
@@ -76,18 +144,105 @@ public class CarController {
                         mileageMin,
                         mileageMax,
                         location,
-                        isVip,
-                        all,
-                        page,
+                        isVip
+                ),
+                        cursor,
                         size,
                         sort
                 )
         ));
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<CarFacetsResponse>> facets(
+            @RequestParam(value = "make", required = false) String make,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "packageType", required = false) java.util.List<String> packageTypes,
+            @RequestParam(value = "packageType[]", required = false) java.util.List<String> packageTypesBracket,
+            @RequestParam(value = "category", required = false) java.util.List<String> categories,
+            @RequestParam(value = "category[]", required = false) java.util.List<String> categoriesBracket,
+            @RequestParam(value = "yearMin", required = false) Integer yearMin,
+            @RequestParam(value = "yearMax", required = false) Integer yearMax,
+            @RequestParam(value = "priceMin", required = false) Double priceMin,
+            @RequestParam(value = "priceMax", required = false) Double priceMax,
+            @RequestParam(value = "fuelType", required = false) String fuelType,
+            @RequestParam(value = "transmission", required = false) String transmission,
+            @RequestParam(value = "bodyType", required = false) String bodyType,
+            @RequestParam(value = "mileageMin", required = false) Integer mileageMin,
+            @RequestParam(value = "mileageMax", required = false) Integer mileageMax,
+            @RequestParam(value = "location", required = false) String location,
+            @RequestParam(value = "isVip", required = false) Boolean isVip
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                carService.facets(toCriteria(
+                        null,
+                        make,
+                        model,
+                        parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
+                        parseCategories(mergeListParams(categories, categoriesBracket)),
+                        yearMin,
+                        yearMax,
+                        priceMin,
+                        priceMax,
+                        fuelType,
+                        transmission,
+                        bodyType,
+                        mileageMin,
+                        mileageMax,
+                        location,
+                        isVip
+                ))
+        ));
+    }
+
+    @GetMapping("/histograms")
+    public ResponseEntity<ApiResponse<CarHistogramsResponse>> histograms(
+            @RequestParam(value = "make", required = false) String make,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "packageType", required = false) java.util.List<String> packageTypes,
+            @RequestParam(value = "packageType[]", required = false) java.util.List<String> packageTypesBracket,
+            @RequestParam(value = "category", required = false) java.util.List<String> categories,
+            @RequestParam(value = "category[]", required = false) java.util.List<String> categoriesBracket,
+            @RequestParam(value = "yearMin", required = false) Integer yearMin,
+            @RequestParam(value = "yearMax", required = false) Integer yearMax,
+            @RequestParam(value = "priceMin", required = false) Double priceMin,
+            @RequestParam(value = "priceMax", required = false) Double priceMax,
+            @RequestParam(value = "fuelType", required = false) String fuelType,
+            @RequestParam(value = "transmission", required = false) String transmission,
+            @RequestParam(value = "bodyType", required = false) String bodyType,
+            @RequestParam(value = "mileageMin", required = false) Integer mileageMin,
+            @RequestParam(value = "mileageMax", required = false) Integer mileageMax,
+            @RequestParam(value = "location", required = false) String location,
+            @RequestParam(value = "isVip", required = false) Boolean isVip,
+            @RequestParam(value = "buckets", required = false, defaultValue = "20") int buckets
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                carService.histograms(toCriteria(
+                        null,
+                        make,
+                        model,
+                        parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
+                        parseCategories(mergeListParams(categories, categoriesBracket)),
+                        yearMin,
+                        yearMax,
+                        priceMin,
+                        priceMax,
+                        fuelType,
+                        transmission,
+                        bodyType,
+                        mileageMin,
+                        mileageMax,
+                        location,
+                        isVip
+                ), buckets)
+        ));
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<java.util.List<CarResponse>>> listAll() {
-        return ResponseEntity.ok(ApiResponse.ok(carService.listAll()));
+    public ResponseEntity<StreamingResponseBody> listAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(carService::writeAll);
     }
 
     @GetMapping("/liked")
@@ -104,6 +259,17 @@ public class CarController {
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
 
+    @GetMapping(value = "/liked", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<CarResponse>>> likedCarsByCursor(
+            @AuthenticationPrincipal SecurityUser principal,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Unauthorized"));
+        }
+        return ResponseEntity.ok(ApiResponse.ok(carService.likedByCursor(principal.getUser().getId(), cursor, size)));
+    }
+
     @GetMapping("/my/count")
     public ResponseEntity<ApiResponse<java.util.Map<String, Long>>> countMyListings(@AuthenticationPrincipal SecurityUser principal) {
         if (principal == null) {
@@ -137,6 +303,14 @@ public class CarController {
         return ResponseEntity.ok(ApiResponse.ok(carService.listManufacturers(category)));
     }
 
+    @GetMapping("/manufacturers/suggest")
+    @Operation(summary = "Suggest manufacturers by name prefix")
+    public ResponseEntity<ApiResponse<java.util.List<String>>> suggestManufacturers(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false, defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.ok(carService.suggestManufacturers(prefix, limit)));
+    }
+
     @GetMapping("/models")
     @Operation(summary = "List models by manufacturer")
     @ApiResponses({
@@ -168,9 +342,10 @@ public class CarController {
     }
 
     @GetMapping(params = "all=true")
-    public ResponseEntity<ApiResponse<java.util.List<CarResponse>>> listAllWithQuery(
+    public ResponseEntity<StreamingResponseBody> listAllWithQuery(
             @RequestParam(value = "make", required = false) String make,
             @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "packageType", required = false) java.util.List<String> packageTypes,
             @RequestParam(value = "packageType[]", required = false) java.util.List<String> packageTypesBracket,
             @RequestParam(value = "category", required = false) java.util.List<String> categories,
@@ -188,35 +363,84 @@ public class CarController {
             @RequestParam(value = "isVip", required = false) Boolean isVip,
             @RequestParam(value = "sort", required = false, defaultValue = "newest") String sort
     ) {
-        // Reuse the main list service with all=true and return just the content list
-        return ResponseEntity.ok(ApiResponse.ok(
-                carService.list(
-                        make,
-                        model,
-                        parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
-                        parseCategories(mergeListParams(categories, categoriesBracket)),
-                        yearMin,
-                        yearMax,
-                        priceMin,
-                        priceMax,
-                        fuelType,
-                        transmission,
-                        bodyType,
-                        mileageMin,
-                        mileageMax,
-                        location,
-                        isVip,
-                        true,
-                        0,
-                        Integer.MAX_VALUE,
-                        sort
-                ).getContent()
-        ));
+        // Streams the same filtered listing as GET /cars, written row by row instead of buffered
+        CarSearchCriteria criteria = toCriteria(
+                q,
+                make,
+                model,
+                parsePackageTypes(mergeListParams(packageTypes, packageTypesBracket)),
+                parseCategories(mergeListParams(categories, categoriesBracket)),
+                yearMin,
+                yearMax,
+                priceMin,
+                priceMax,
+                fuelType,
+                transmission,
+                bodyType,
+                mileageMin,
+                mileageMax,
+                location,
+                isVip
+        );
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> carService.writeList(criteria, sort, out));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CarResponse>> get(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.ok(carService.get(id)));
+    public ResponseEntity<ApiResponse<CarResponse>> get(@PathVariable Long id, WebRequest webRequest) {
+        java.time.Instant lastModified = carService.lastModified(id);
+        String eTag = "\"" + id + "-" + lastModified.toEpochMilli() + "\"";
+        if (webRequest.checkNotModified(eTag, lastModified.toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(ApiResponse.ok(carService.get(id)));
+    }
+
+    // Derived only from values that are stable across nodes, so every replica hands out the same tag.
+    private String listETag(CarSearchIndex.Watermark watermark, CarSearchCriteria criteria, int page, int size, String sort) {
+        String query = criteria.normalized() + "|" + page + "|" + size + "|" + sort.toLowerCase();
+        return "\"" + Long.toHexString(watermark.lastModified()) + "-" + Integer.toHexString(watermark.size())
+                + "-" + Integer.toHexString(query.hashCode()) + "\"";
+    }
+
+    private CarSearchCriteria toCriteria(String q,
+                                         String make,
+                                         String model,
+                                         java.util.List<PackageType> packageTypes,
+                                         java.util.List<VehicleCategory> categories,
+                                         Integer yearMin,
+                                         Integer yearMax,
+                                         Double priceMin,
+                                         Double priceMax,
+                                         String fuelType,
+                                         String transmission,
+                                         String bodyType,
+                                         Integer mileageMin,
+                                         Integer mileageMax,
+                                         String location,
+                                         Boolean isVip) {
+        return CarSearchCriteria.builder()
+                .q(q == null || q.isBlank() ? null : q.trim())
+                .make(make)
+                .model(model)
+                .packageTypes(packageTypes)
+                .categories(categories)
+                .yearMin(yearMin)
+                .yearMax(yearMax)
+                .priceMin(priceMin)
+                .priceMax(priceMax)
+                .fuelType(fuelType)
+                .transmission(transmission)
+                .bodyType(bodyType)
+                .mileageMin(mileageMin)
+                .mileageMax(mileageMax)
+                .location(location)
+                .isVip(isVip)
+                .build();
     }
 
     private java.util.List<PackageType> parsePackageTypes(java.util.List<String> raw) {
@@ -363,6 +587,23 @@ public class CarController {
                 .body(ApiResponse.ok(carService.createWithImages(principal.getUser().getId(), mappedRequest, images)));
     }
 
+    @PostMapping(value = "/bulk", consumes = {CarBulkParser.NDJSON, CarBulkParser.CSV})
+    @Operation(summary = "Bulk import cars (NDJSON or CSV with a header row)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Imported; see per-row results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported format or too many rows"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ApiResponse<CarBulkImportResponse>> bulkCreate(@AuthenticationPrincipal SecurityUser principal,
+                                                                         HttpServletRequest request) throws java.io.IOException {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Unauthorized"));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok(carService.bulkCreate(principal.getUser().getId(),
+                        request.getInputStream(), request.getContentType())));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<CarResponse>> update(@PathVariable Long id,
                                                            @AuthenticationPrincipal SecurityUser principal,
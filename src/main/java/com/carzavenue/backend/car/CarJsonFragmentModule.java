@@ -0,0 +1,91 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Serializes {@link CarResponse} through {@link CarJsonFragments}: a cached fragment is spliced into the
+ * output as a raw value, and a miss is rendered once by the regular bean serializer and remembered.
+ * Registered with the application {@code ObjectMapper} by Spring Boot, so every endpoint returning
+ * listings benefits without changing its types.
+ */
+@Component
+public class CarJsonFragmentModule extends SimpleModule {
+
+    public CarJsonFragmentModule(CarJsonFragments fragments) {
+        super("CarJsonFragmentModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (fragments.isEnabled() && beanDesc.getBeanClass() == CarResponse.class) {
+                    return new FragmentSerializer((JsonSerializer<CarResponse>) serializer, fragments);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    static final class FragmentSerializer extends StdSerializer<CarResponse> implements ResolvableSerializer {
+        private static final JsonFactory FALLBACK_FACTORY = new JsonFactory();
+
+        private final JsonSerializer<CarResponse> delegate;
+        private final CarJsonFragments fragments;
+
+        FragmentSerializer(JsonSerializer<CarResponse> delegate, CarJsonFragments fragments) {
+            super(CarResponse.class);
+            this.delegate = delegate;
+            this.fragments = fragments;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public void serialize(CarResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value.getId() == null || value.getUpdatedAt() == null) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            SerializableString json = fragments.get(value.getId(), value.getUpdatedAt());
+            if (json == null) {
+                ByteArrayBuilder buffer = new ByteArrayBuilder();
+                try (JsonGenerator capture = captureFactory(gen).createGenerator(buffer, JsonEncoding.UTF8)) {
+                    // Same generator features as the response, so a cached fragment reads like a fresh render
+                    capture.overrideStdFeatures(gen.getFeatureMask(), -1);
+                    delegate.serialize(value, capture, provider);
+                }
+                json = fragments.put(value.getId(), value.getUpdatedAt(), buffer.toByteArray());
+            }
+            gen.writeRawValue(json);
+        }
+
+        // The application ObjectMapper is the codec of every generator it creates
+        private static JsonFactory captureFactory(JsonGenerator gen) {
+            ObjectCodec codec = gen.getCodec();
+            return codec == null ? FALLBACK_FACTORY : codec.getFactory();
+        }
+    }
+}
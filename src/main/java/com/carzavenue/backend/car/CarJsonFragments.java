@@ -0,0 +1,186 @@
+package com.carzavenue.backend.car;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of each listing's serialized {@code CarResponse} JSON, held as UTF-8 bytes and keyed
+ * by id plus {@code updatedAt}. Any write bumps {@code updatedAt}, so a stale fragment is never returned
+ * and simply ages out.
+ */
+@Component
+public class CarJsonFragments {
+    private final boolean enabled;
+    private final int maxEntries;
+    private final LinkedHashMap<Long, Fragment> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CarJsonFragments(@Value("${app.search.fragments.enabled:true}") boolean enabled,
+                            @Value("${app.search.fragments.max-entries:20000}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cached JSON for the listing at the given version, or null.
+     */
+    public SerializableString get(Long id, Instant updatedAt) {
+        if (!enabled || id == null || updatedAt == null) {
+            return null;
+        }
+        synchronized (this) {
+            Fragment fragment = entries.get(id);
+            if (fragment != null && fragment.updatedAt() == updatedAt.toEpochMilli()) {
+                hits.incrementAndGet();
+                return new RawJson(fragment.json());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public SerializableString put(Long id, Instant updatedAt, byte[] utf8) {
+        if (enabled && id != null && updatedAt != null) {
+            synchronized (this) {
+                Fragment existing = entries.get(id);
+                if (existing == null || existing.updatedAt() <= updatedAt.toEpochMilli()) {
+                    entries.put(id, new Fragment(updatedAt.toEpochMilli(), utf8));
+                }
+                if (entries.size() > maxEntries) {
+                    Iterator<Long> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return new RawJson(utf8);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits.get(), misses.get());
+    }
+
+    private record Fragment(long updatedAt, byte[] json) {
+    }
+
+    /**
+     * Short-lived view of a cached fragment for {@code JsonGenerator.writeRawValue}. UTF-8 generators copy the
+     * bytes as they are; only char-based generators and the quoted forms decode them, and nothing decoded is
+     * kept, so the cache holds a single byte array per listing.
+     */
+    static final class RawJson implements SerializableString {
+        private final byte[] utf8;
+
+        RawJson(byte[] utf8) {
+            this.utf8 = utf8;
+        }
+
+        @Override
+        public String getValue() {
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + utf8.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+            return utf8.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            String value = getValue();
+            if (offset + value.length() > buffer.length) {
+                return -1;
+            }
+            value.getChars(0, value.length(), buffer, offset);
+            return value.length();
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (utf8.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return quoted().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return quoted().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return quoted().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return quoted().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return quoted().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+            return quoted().putQuotedUTF8(buffer);
+        }
+
+        // Fragments are only ever written raw; the quoted forms exist to complete the interface
+        private SerializedString quoted() {
+            return new SerializedString(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getValue();
+        }
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses) {
+    }
+}
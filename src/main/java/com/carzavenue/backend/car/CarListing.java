@@ -4,6 +4,7 @@ import com.carzavenue.backend.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -17,6 +18,8 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "car_listing")
+// Deleted listings wait for CarListingPurger and are invisible to every JPA read until then
+@SQLRestriction("deleted_at IS NULL")
 public class CarListing {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,6 +44,16 @@ public class CarListing {
     @Column(name = "contact_phone", length = 32)
     private String contactPhone;
 
+    // Copy of the owner's display fields, kept in sync by CarService.syncSeller
+    @Column(name = "seller_name")
+    private String sellerName;
+
+    @Column(name = "seller_email")
+    private String sellerEmail;
+
+    @Column(name = "seller_phone", length = 50)
+    private String sellerPhone;
+
     @Column(name = "vin_code", length = 17)
     private String vinCode;
 
@@ -56,6 +69,12 @@ public class CarListing {
     private String description;
     private String location;
 
+    // Kept up to date by a Postgres trigger from title/make/model/location/description (V5.1); read-only here.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "search_vector", insertable = false, updatable = false, columnDefinition = "tsvector")
+    private String searchVector;
+
     @Column(name = "image_id")
     private Long imageId;
 
@@ -80,6 +99,10 @@ public class CarListing {
     @Column(name = "package_type", nullable = false)
     private List<PackageType> packageTypes = new ArrayList<>();
 
+    // PackageTypeMask of packageType and packageTypes; lets package filters skip the collection table
+    @Column(name = "package_type_mask", nullable = false)
+    private int packageTypeMask;
+
     @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -95,4 +118,7 @@ public class CarListing {
 
     @UpdateTimestamp
     private Instant updatedAt;
+
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
 }
@@ -0,0 +1,19 @@
+package com.carzavenue.backend.car;
+
+/**
+ * Published inside the writing transaction whenever a listing is created, modified or removed.
+ * {@code before} is null for new listings and {@code after} is null for deleted ones.
+ */
+public record CarListingChangedEvent(Long id, CarListingSnapshot before, CarListingSnapshot after) {
+    public static CarListingChangedEvent created(CarListing car) {
+        return new CarListingChangedEvent(car.getId(), null, CarListingSnapshot.of(car));
+    }
+
+    public static CarListingChangedEvent updated(CarListingSnapshot before, CarListing car) {
+        return new CarListingChangedEvent(car.getId(), before, CarListingSnapshot.of(car));
+    }
+
+    public static CarListingChangedEvent deleted(CarListingSnapshot before) {
+        return new CarListingChangedEvent(before.id(), before, null);
+    }
+}
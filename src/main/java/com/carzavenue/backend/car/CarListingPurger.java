@@ -0,0 +1,164 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.message.Message;
+import com.carzavenue.backend.message.MessageRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes soft-deleted listings and the rows that reference them, one listing at a time. Dependent rows go
+ * in bounded batches of ids, each deleted in its own short transaction, so a popular listing never holds
+ * long locks on messages or likes. Every step is idempotent, so nodes running the purge concurrently only
+ * repeat work. A listing that fails is logged and skipped for the rest of the run. Listings are only
+ * purged once their deletion is older than {@code app.cars.purge.min-age-ms}, which has to outlast the
+ * search index sync on other nodes so they drop the id before the tombstone disappears.
+ */
+@Component
+public class CarListingPurger {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CarListingPurger.class);
+
+    private final CarListingRepository carRepository;
+    // Entities referencing a listing through their car association, purged before the listing itself
+    private final List<Dependent> dependents;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int listingBatchSize;
+    private final int rowBatchSize;
+    private final Duration minAge;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile Run lastRun;
+
+    public CarListingPurger(CarListingRepository carRepository,
+                            MessageRepository messageRepository,
+                            CarCommentRepository carCommentRepository,
+                            CarLikeRepository carLikeRepository,
+                            EntityManager entityManager,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.cars.purge.listing-batch-size:50}") int listingBatchSize,
+                            @Value("${app.cars.purge.row-batch-size:1000}") int rowBatchSize,
+                            @Value("${app.cars.purge.min-age-ms:300000}") long minAgeMs,
+                            @Value("${app.search.index.sync-interval-ms:30000}") long syncIntervalMs) {
+        this.carRepository = carRepository;
+        this.dependents = List.of(
+                new Dependent(Message.class, messageRepository),
+                new Dependent(CarComment.class, carCommentRepository),
+                new Dependent(CarLike.class, carLikeRepository));
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.listingBatchSize = listingBatchSize;
+        this.rowBatchSize = rowBatchSize;
+        this.minAge = Duration.ofMillis(minAgeMs);
+        Duration syncWindow = Duration.ofMillis(syncIntervalMs).plus(CarSearchIndex.SYNC_OVERLAP);
+        if (minAge.compareTo(syncWindow) <= 0) {
+            throw new IllegalStateException("app.cars.purge.min-age-ms must exceed the search index sync interval plus "
+                    + CarSearchIndex.SYNC_OVERLAP.toMillis() + " ms (" + syncWindow.toMillis() + " ms)");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.cars.purge.interval-ms:60000}",
+            fixedDelayString = "${app.cars.purge.interval-ms:60000}")
+    public void purge() {
+        Instant startedAt = Instant.now();
+        int purged = 0;
+        long rows = 0;
+        Set<Long> failed = new HashSet<>();
+        Instant cutoff = startedAt.minus(minAge);
+        try {
+            List<Long> batch;
+            do {
+                // Failed listings stay at the head of the queue, so fetch past them
+                batch = carRepository.findPurgeBatch(cutoff, listingBatchSize + failed.size()).stream()
+                        .filter(id -> !failed.contains(id))
+                        .toList();
+                for (Long carId : batch) {
+                    try {
+                        rows += purgeListing(carId);
+                        purged++;
+                    } catch (RuntimeException ex) {
+                        failed.add(carId);
+                        LOGGER.warn("Could not purge listing {}, skipping it until the next run", carId, ex);
+                    }
+                }
+            } while (batch.size() >= listingBatchSize);
+        } finally {
+            long tookMs = Duration.between(startedAt, Instant.now()).toMillis();
+            runs.incrementAndGet();
+            totalPurged.addAndGet(purged);
+            lastRun = new Run(startedAt, purged, rows, failed.size(), tookMs);
+            if (purged > 0) {
+                LOGGER.info("Listing purge removed {} listings and {} dependent rows in {} ms", purged, rows, tookMs);
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(runs.get(), totalPurged.get(), lastRun);
+    }
+
+    // Returns the number of dependent rows removed
+    private long purgeListing(Long carId) {
+        long rows = 0;
+        for (Dependent dependent : dependents) {
+            rows += deleteReferences(dependent, carId);
+        }
+        deleteListing(carId);
+        return rows;
+    }
+
+    private long deleteReferences(Dependent dependent, Long carId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(dependent.type());
+        query.select(root.<Long>get("id")).where(cb.equal(root.get("car").get("id"), carId));
+        long total = 0;
+        List<Long> ids;
+        do {
+            ids = entityManager.createQuery(query).setMaxResults(rowBatchSize).getResultList();
+            if (!ids.isEmpty()) {
+                dependent.repository().deleteAllByIdInBatch(ids);
+            }
+            total += ids.size();
+        } while (ids.size() == rowBatchSize);
+        return total;
+    }
+
+    // Native, since CarListing's deleted_at restriction hides the row from JPA
+    private void deleteListing(Long carId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM car_listing_package_types WHERE car_id = ?", carId);
+            jdbcTemplate.update("DELETE FROM car_photos WHERE car_id = ?", carId);
+            jdbcTemplate.update("DELETE FROM car_listing WHERE id = ? AND deleted_at IS NOT NULL", carId);
+        });
+    }
+
+    private record Dependent(Class<?> type, JpaRepository<?, Long> repository) {
+    }
+
+    public record Run(Instant startedAt, int purged, long dependentRows, int failed, long tookMs) {
+    }
+
+    public record Stats(long runs, long totalPurged, Run lastRun) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.config.ExplainStatementInspector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Read model for listing endpoints. A page costs one row query (seller fields come from the listing's own
+ * snapshot columns, so users is never joined), one query for the photos and one for the package types of
+ * the whole page, independent of the page size.
+ */
+@Component
+public class CarListingReader {
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+    private final long exactCountThreshold;
+
+    public CarListingReader(EntityManager entityManager,
+                            @Value("${app.search.count.exact-threshold:1000}") long exactCountThreshold) {
+        this.entityManager = entityManager;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    /**
+     * One page of listings. With {@link CountMode#NONE} the result is a {@link Slice} that only knows
+     * whether a next page exists; otherwise a {@link Page} with an exact or estimated total.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CarResponse> findPage(Specification<CarListing> spec, Pageable pageable, CountMode countMode) {
+        List<CarListingRow> rows = entityManager.createQuery(rowQuery(spec, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + (countMode == CountMode.NONE ? 1 : 0))
+                .getResultList();
+        return page(hydrate(rows), pageable, countMode, spec);
+    }
+
+    /**
+     * Same as {@link #findPage} for screens that need the entities themselves.
+     */
+    @Transactional(readOnly = true)
+    public <T> Slice<T> findEntityPage(Specification<CarListing> spec, Pageable pageable, CountMode countMode,
+                                       Function<CarListing, T> mapper) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CarListing> query = cb.createQuery(CarListing.class);
+        Root<CarListing> root = query.from(CarListing.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        List<T> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + (countMode == CountMode.NONE ? 1 : 0))
+                .getResultList()
+                .stream()
+                .map(mapper)
+                .toList();
+        return page(content, pageable, countMode, spec);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CarResponse> findAll(Specification<CarListing> spec, Sort sort, int limit) {
+        return hydrate(entityManager.createQuery(rowQuery(spec, sort))
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<CarResponse> findAll(Specification<CarListing> spec, Sort sort) {
+        return hydrate(entityManager.createQuery(rowQuery(spec, sort)).getResultList());
+    }
+
+    /**
+     * Listings for {@code ids} in the given order; ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<CarResponse> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CarResponse> byId = findAll((root, query, cb) -> root.get("id").in(ids), Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(CarResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    CriteriaQuery<CarListingRow> rowQuery(Specification<CarListing> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CarListingRow> query = cb.createQuery(CarListingRow.class);
+        Root<CarListing> root = query.from(CarListing.class);
+        query.select(cb.construct(CarListingRow.class,
+                root.get("id"),
+                root.get("owner").get("id"),
+                root.get("sellerName"),
+                root.get("sellerEmail"),
+                root.get("sellerPhone"),
+                root.get("title"),
+                root.get("listingType"),
+                root.get("packageType"),
+                root.get("category"),
+                root.get("make"),
+                root.get("model"),
+                root.get("year"),
+                root.get("mileage"),
+                root.get("fuelType"),
+                root.get("transmission"),
+                root.get("bodyType"),
+                root.get("engineVolume"),
+                root.get("price"),
+                root.get("contactPhone"),
+                root.get("color"),
+                root.get("description"),
+                root.get("location"),
+                root.get("imageId"),
+                root.get("isActive"),
+                root.get("isVip"),
+                root.get("vipExpiresAt"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+
+    List<CarResponse> hydrate(List<CarListingRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(CarListingRow::id).toList();
+        Map<Long, List<String>> photos = group(entityManager.createQuery(
+                        "select c.id, p from CarListing c join c.photos p where c.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList());
+        Map<Long, List<PackageType>> packageTypes = group(entityManager.createQuery(
+                        "select c.id, p from CarListing c join c.packageTypes p where c.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList());
+        return rows.stream()
+                .map(row -> CarMapper.toResponse(row, photos.get(row.id()), packageTypes.get(row.id())))
+                .toList();
+    }
+
+    private <T> Slice<T> page(List<T> content, Pageable pageable, CountMode countMode, Specification<CarListing> spec) {
+        if (countMode == CountMode.NONE) {
+            boolean hasNext = content.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+        }
+        if (countMode == CountMode.ESTIMATE) {
+            // Never report fewer rows than the pages already served
+            return PageableExecutionUtils.getPage(content, pageable,
+                    () -> Math.max(estimate(spec), pageable.getOffset() + content.size()));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    /**
+     * Row estimate from the Postgres planner, which costs a plan but no scan. Small results are counted
+     * exactly because they are cheap and the planner is least reliable there.
+     */
+    private long estimate(Specification<CarListing> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<CarListing> root = query.from(CarListing.class);
+        query.select(root.get("id").as(String.class));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<String> plan = ExplainStatementInspector.explain(entityManager, query);
+        Matcher rows = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+        if (!rows.find()) {
+            return count(spec);
+        }
+        long estimate = Long.parseLong(rows.group(1));
+        return estimate < exactCountThreshold ? count(spec) : estimate;
+    }
+
+    private long count(Specification<CarListing> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<CarListing> root = query.from(CarListing.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Map<Long, List<V>> group(Collection<Object[]> pairs) {
+        Map<Long, List<V>> grouped = new HashMap<>();
+        for (Object[] pair : pairs) {
+            grouped.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((V) pair[1]);
+        }
+        return grouped;
+    }
+}
@@ -1,11 +1,21 @@
 package com.carzavenue.backend.car;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public interface CarListingRepository extends JpaRepository<CarListing, Long>, JpaSpecificationExecutor<CarListing> {
     long countByOwnerIdAndIsActiveTrue(Long ownerId);
@@ -14,9 +24,6 @@ public interface CarListingRepository extends JpaRepository<CarListing, Long>, J
     @Query("select distinct c.model from CarListing c where lower(c.make) = lower(:make) and c.isActive = true")
     List<String> findDistinctModelsByMake(@Param("make") String make);
 
-    @Query("select distinct c.make from CarListing c where c.make is not null order by c.make")
-    List<String> findDistinctMakes();
-
     @Query("select distinct c.make from CarListing c where c.make is not null and c.isActive = true and (:category is null or c.category = :category) order by c.make")
     List<String> findDistinctMakesByCategory(@Param("category") VehicleCategory category);
 
@@ -26,51 +33,72 @@ public interface CarListingRepository extends JpaRepository<CarListing, Long>, J
     @Query("select count(c) > 0 from CarListing c where lower(c.make) = lower(:make) and lower(c.model) = lower(:model) and c.isActive = true")
     boolean existsActiveModelByMake(@Param("make") String make, @Param("model") String model);
 
-    @Query("select distinct c.model from CarListing c where c.model is not null order by c.model")
-    List<String> findDistinctModels();
-
     @Query("select distinct c.model from CarListing c where lower(c.make) = lower(:make) and c.isActive = true and (:category is null or c.category = :category) order by c.model")
     List<String> findDistinctModelsByMakeAndCategory(@Param("make") String make, @Param("category") VehicleCategory category);
 
-    @Query("select distinct c.owner.email from CarListing c where c.owner.email is not null order by c.owner.email")
-    List<String> findDistinctOwnerEmails();
-
-    @Query("select distinct c.owner.name from CarListing c where c.owner.name is not null order by c.owner.name")
-    List<String> findDistinctOwnerNames();
-
-    @Query("select distinct c.year from CarListing c where c.year is not null order by c.year")
-    List<Integer> findDistinctYears();
-
-    @Query("select distinct c.listingType from CarListing c where c.listingType is not null and c.listingType <> '' order by c.listingType")
-    List<String> findDistinctListingTypes();
-
-    @Query("select distinct p from CarListing c join c.packageTypes p order by p")
-    List<PackageType> findDistinctPackageTypes();
-
-    @Query("select distinct c.category from CarListing c where c.category is not null order by c.category")
-    List<VehicleCategory> findDistinctCategories();
-
-    @Query("select distinct c.fuelType from CarListing c where c.fuelType is not null and c.fuelType <> '' order by c.fuelType")
-    List<String> findDistinctFuelTypes();
-
-    @Query("select distinct c.transmission from CarListing c where c.transmission is not null and c.transmission <> '' order by c.transmission")
-    List<String> findDistinctTransmissions();
-
-    @Query("select distinct c.bodyType from CarListing c where c.bodyType is not null and c.bodyType <> '' order by c.bodyType")
-    List<String> findDistinctBodyTypes();
-
-    @Query("select distinct c.color from CarListing c where c.color is not null and c.color <> '' order by c.color")
-    List<String> findDistinctColors();
-
-    @Query("select distinct c.engineVolume from CarListing c where c.engineVolume is not null order by c.engineVolume")
-    List<Double> findDistinctEngineVolumes();
-
-    @Query("select distinct c.mileage from CarListing c where c.mileage is not null order by c.mileage")
-    List<Integer> findDistinctMileages();
-
-    @Query("select min(c.price) from CarListing c")
-    Double findMinPrice();
-
-    @Query("select max(c.price) from CarListing c")
-    Double findMaxPrice();
+    @Query("select new com.carzavenue.backend.car.CarListingSnapshot(c.id, c.make, c.model, c.fuelType, c.transmission, c.bodyType, c.location, c.category, c.packageType, c.price, c.year, c.mileage, c.engineVolume, c.isActive, c.isVip, c.vipExpiresAt, c.createdAt, c.updatedAt) from CarListing c where c.isActive = true and c.id > :afterId order by c.id")
+    List<CarListingSnapshot> findIndexRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Same expression as idx_car_listing_modified (V13), so the periodic sync is an index range scan
+    @Query("select new com.carzavenue.backend.car.CarListingSnapshot(c.id, c.make, c.model, c.fuelType, c.transmission, c.bodyType, c.location, c.category, c.packageType, c.price, c.year, c.mileage, c.engineVolume, c.isActive, c.isVip, c.vipExpiresAt, c.createdAt, c.updatedAt) from CarListing c where coalesce(c.updatedAt, c.createdAt) >= :since")
+    List<CarListingSnapshot> findIndexRowsUpdatedSince(@Param("since") Instant since);
+
+    @Query("select new com.carzavenue.backend.car.CarListingSnapshot(c.id, c.make, c.model, c.fuelType, c.transmission, c.bodyType, c.location, c.category, c.packageType, c.price, c.year, c.mileage, c.engineVolume, c.isActive, c.isVip, c.vipExpiresAt, c.createdAt, c.updatedAt) from CarListing c where c.owner.id = :ownerId")
+    List<CarListingSnapshot> findIndexRowsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Merges the car_listing_package_types rows into snapshots read through the constructor queries above,
+     * which only carry the primary package type.
+     */
+    default List<CarListingSnapshot> withPackageTypes(List<CarListingSnapshot> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<Long, Set<PackageType>> extra = new HashMap<>();
+        for (Object[] pair : findPackageTypesByIds(rows.stream().map(CarListingSnapshot::id).toList())) {
+            extra.computeIfAbsent((Long) pair[0], id -> EnumSet.noneOf(PackageType.class)).add((PackageType) pair[1]);
+        }
+        return rows.stream()
+                .map(row -> row.withPackageTypes(extra.get(row.id())))
+                .toList();
+    }
+
+    @Query("select coalesce(c.updatedAt, c.createdAt) from CarListing c where c.id = :id")
+    Optional<Instant> findLastModifiedById(@Param("id") Long id);
+
+    @Query("select c.id, p from CarListing c join c.packageTypes p where c.id in :ids")
+    List<Object[]> findPackageTypesByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update CarListing c set c.sellerName = :name, c.sellerEmail = :email, c.sellerPhone = :phone, c.updatedAt = :now where c.owner.id = :ownerId")
+    int updateSellerSnapshot(@Param("ownerId") Long ownerId,
+                             @Param("name") String name,
+                             @Param("email") String email,
+                             @Param("phone") String phone,
+                             @Param("now") Instant now);
+
+    /**
+     * Clears the VIP flag of up to {@code limit} expired listings and returns their ids. Rows locked by a
+     * concurrent sweep are skipped rather than waited for.
+     */
+    @Transactional
+    @Query(value = "with due as (select id from car_listing where is_vip and vip_expires_at <= now() and deleted_at is null order by vip_expires_at limit :limit for update skip locked) "
+            + "update car_listing c set is_vip = false, updated_at = now() from due where c.id = due.id returning c.id", nativeQuery = true)
+    List<Long> expireVipBatch(@Param("limit") int limit);
+
+    @Query("select max(c.id) from CarListing c")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query(value = "update car_listing c set seller_name = u.name, seller_email = u.email, seller_phone = u.phone_number from users u where u.id = c.owner_id and c.id > :fromId and c.id <= :toId and c.seller_email is null and c.deleted_at is null", nativeQuery = true)
+    int backfillSellerSnapshot(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Native so they see rows hidden by CarListing's deleted_at restriction; rows are (id, deleted_at epoch millis)
+    @Query(value = "select id, cast(extract(epoch from deleted_at) * 1000 as bigint) from car_listing where deleted_at >= :since", nativeQuery = true)
+    List<Object[]> findDeletedSince(@Param("since") Instant since);
+
+    // Only rows deleted before the cutoff, so other nodes' index sync has seen the tombstone first
+    @Query(value = "select id from car_listing where deleted_at is not null and deleted_at < :cutoff order by deleted_at, id limit :limit", nativeQuery = true)
+    List<Long> findPurgeBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,72 @@
+package com.carzavenue.backend.car;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of a listing including its seller snapshot, read without materializing entities.
+ */
+public record CarListingRow(Long id,
+                            Long ownerId,
+                            String sellerName,
+                            String sellerEmail,
+                            String sellerPhone,
+                            String title,
+                            String listingType,
+                            PackageType packageType,
+                            VehicleCategory category,
+                            String make,
+                            String model,
+                            Integer year,
+                            Integer mileage,
+                            String fuelType,
+                            String transmission,
+                            String bodyType,
+                            Double engineVolume,
+                            Double price,
+                            String contactPhone,
+                            String color,
+                            String description,
+                            String location,
+                            Long imageId,
+                            boolean active,
+                            boolean vip,
+                            Instant vipExpiresAt,
+                            Instant createdAt,
+                            Instant updatedAt) {
+
+    public static CarListingRow of(CarListing car) {
+        var owner = car.getOwner();
+        // Rows not yet backfilled fall back to the owner
+        boolean snapshot = car.getSellerEmail() != null || owner == null;
+        return new CarListingRow(
+                car.getId(),
+                owner != null ? owner.getId() : null,
+                snapshot ? car.getSellerName() : owner.getName(),
+                snapshot ? car.getSellerEmail() : owner.getEmail(),
+                snapshot ? car.getSellerPhone() : owner.getPhoneNumber(),
+                car.getTitle(),
+                car.getListingType(),
+                car.getPackageType(),
+                car.getCategory(),
+                car.getMake(),
+                car.getModel(),
+                car.getYear(),
+                car.getMileage(),
+                car.getFuelType(),
+                car.getTransmission(),
+                car.getBodyType(),
+                car.getEngineVolume(),
+                car.getPrice(),
+                car.getContactPhone(),
+                car.getColor(),
+                car.getDescription(),
+                car.getLocation(),
+                car.getImageId(),
+                car.isActive(),
+                car.isVip(),
+                car.getVipExpiresAt(),
+                car.getCreatedAt(),
+                car.getUpdatedAt()
+        );
+    }
+}
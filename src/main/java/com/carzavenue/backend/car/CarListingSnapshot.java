@@ -0,0 +1,100 @@
+package com.carzavenue.backend.car;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Immutable copy of the searchable columns of a listing, taken before and after writes.
+ */
+public record CarListingSnapshot(Long id,
+                                 String make,
+                                 String model,
+                                 String fuelType,
+                                 String transmission,
+                                 String bodyType,
+                                 String location,
+                                 VehicleCategory category,
+                                 Set<PackageType> packageTypes,
+                                 Double price,
+                                 Integer year,
+                                 Integer mileage,
+                                 Double engineVolume,
+                                 boolean active,
+                                 boolean vip,
+                                 Instant vipExpiresAt,
+                                 Instant createdAt,
+                                 Instant updatedAt) {
+
+    // Used by JPQL constructor expressions; extra package types are merged in afterwards.
+    public CarListingSnapshot(Long id,
+                              String make,
+                              String model,
+                              String fuelType,
+                              String transmission,
+                              String bodyType,
+                              String location,
+                              VehicleCategory category,
+                              PackageType packageType,
+                              Double price,
+                              Integer year,
+                              Integer mileage,
+                              Double engineVolume,
+                              boolean active,
+                              boolean vip,
+                              Instant vipExpiresAt,
+                              Instant createdAt,
+                              Instant updatedAt) {
+        this(id, make, model, fuelType, transmission, bodyType, location, category,
+                packageType == null ? Set.of() : Set.of(packageType),
+                price, year, mileage, engineVolume, active, vip, vipExpiresAt, createdAt, updatedAt);
+    }
+
+    public static CarListingSnapshot of(CarListing car) {
+        Set<PackageType> packageTypes = EnumSet.noneOf(PackageType.class);
+        if (car.getPackageType() != null) {
+            packageTypes.add(car.getPackageType());
+        }
+        if (car.getPackageTypes() != null) {
+            car.getPackageTypes().stream()
+                    .filter(java.util.Objects::nonNull)
+                    .forEach(packageTypes::add);
+        }
+        return new CarListingSnapshot(
+                car.getId(),
+                car.getMake(),
+                car.getModel(),
+                car.getFuelType(),
+                car.getTransmission(),
+                car.getBodyType(),
+                car.getLocation(),
+                car.getCategory(),
+                Set.copyOf(packageTypes),
+                car.getPrice(),
+                car.getYear(),
+                car.getMileage(),
+                car.getEngineVolume(),
+                car.isActive(),
+                car.isVip(),
+                car.getVipExpiresAt(),
+                car.getCreatedAt(),
+                car.getUpdatedAt()
+        );
+    }
+
+    public CarListingSnapshot withPackageTypes(Set<PackageType> extra) {
+        if (extra == null || extra.isEmpty()) {
+            return this;
+        }
+        Set<PackageType> merged = EnumSet.noneOf(PackageType.class);
+        merged.addAll(packageTypes);
+        merged.addAll(extra);
+        return new CarListingSnapshot(id, make, model, fuelType, transmission, bodyType, location, category,
+                Set.copyOf(merged), price, year, mileage, engineVolume, active, vip, vipExpiresAt, createdAt, updatedAt);
+    }
+
+    public CarListingSnapshot withUpdatedAt(Instant updatedAt) {
+        return new CarListingSnapshot(id, make, model, fuelType, transmission, bodyType, location, category,
+                packageTypes, price, year, mileage, engineVolume, active, vip, vipExpiresAt, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,107 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes listings as an {@code ApiResponse} JSON envelope straight from a forward-only cursor over flat
+ * listing rows. Photos and package types are loaded per fetch-sized chunk, and the persistence context is
+ * cleared after each chunk so heap usage does not grow with the catalog.
+ */
+@Component
+public class CarListingStreamer {
+    private final EntityManager entityManager;
+    private final CarListingReader listingReader;
+    private final ObjectWriter responseWriter;
+    private final ObjectMapper objectMapper;
+    private final CarJsonFragments fragments;
+    private final int fetchSize;
+
+    public CarListingStreamer(EntityManager entityManager,
+                              CarListingReader listingReader,
+                              ObjectMapper objectMapper,
+                              CarJsonFragments fragments,
+                              @Value("${app.search.stream.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.listingReader = listingReader;
+        this.objectMapper = objectMapper;
+        this.responseWriter = objectMapper.writerFor(CarResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fragments = fragments;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void write(Specification<CarListing> spec, Sort sort, OutputStream out) throws IOException {
+        @SuppressWarnings("unchecked")
+        org.hibernate.query.Query<CarListingRow> hibernateQuery = entityManager.createQuery(listingReader.rowQuery(spec, sort))
+                .unwrap(org.hibernate.query.Query.class);
+        try (ScrollableResults<CarListingRow> results = hibernateQuery
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("data");
+            List<CarListingRow> chunk = new ArrayList<>(fetchSize);
+            while (results.next()) {
+                chunk.add(results.get());
+                if (chunk.size() == fetchSize) {
+                    writeChunk(generator, chunk);
+                }
+            }
+            writeChunk(generator, chunk);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeChunk(JsonGenerator generator, List<CarListingRow> chunk) throws IOException {
+        // Rows whose JSON is already cached at this version skip hydration and mapping entirely
+        Map<Long, SerializableString> cached = new HashMap<>();
+        List<CarListingRow> misses = new ArrayList<>(chunk.size());
+        for (CarListingRow row : chunk) {
+            SerializableString json = fragments.get(row.id(), row.updatedAt());
+            if (json != null) {
+                cached.put(row.id(), json);
+            } else {
+                misses.add(row);
+            }
+        }
+        Map<Long, CarResponse> hydrated = new HashMap<>();
+        for (CarResponse car : listingReader.hydrate(misses)) {
+            hydrated.put(car.getId(), car);
+        }
+        for (CarListingRow row : chunk) {
+            SerializableString json = cached.get(row.id());
+            if (json != null) {
+                generator.writeRawValue(json);
+            } else {
+                responseWriter.writeValue(generator, hydrated.get(row.id()));
+            }
+        }
+        generator.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+}
@@ -2,6 +2,7 @@ package com.carzavenue.backend.car;
 
 import com.carzavenue.backend.car.dto.CarRequest;
 import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.user.User;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -69,61 +70,71 @@ public class CarMapper {
     }
 
     public static CarResponse toResponse(CarListing car) {
-        List<String> photos = sanitizePhotos(car.getPhotos());
-        String sellerName = car.getOwner() != null ? car.getOwner().getName() : null;
+        return toResponse(CarListingRow.of(car), car.getPhotos(), car.getPackageTypes());
+    }
+
+    public static CarResponse toResponse(CarListingRow car, List<String> rawPhotos, List<PackageType> packageTypes) {
+        List<String> photos = sanitizePhotos(rawPhotos);
+        String sellerName = car.sellerName();
         String sellerUsername = null;
-        if (car.getOwner() != null && car.getOwner().getEmail() != null) {
-            String email = car.getOwner().getEmail();
+        if (car.sellerEmail() != null) {
+            String email = car.sellerEmail();
             int at = email.indexOf("@");
             sellerUsername = at > 0 ? email.substring(0, at) : email;
         }
         if (sellerName == null || sellerName.isBlank()) {
             sellerName = sellerUsername;
         }
-        String sellerPhone = car.getContactPhone();
-        if ((sellerPhone == null || sellerPhone.isBlank()) && car.getOwner() != null) {
-            sellerPhone = car.getOwner().getPhoneNumber();
+        String sellerPhone = car.contactPhone();
+        if (sellerPhone == null || sellerPhone.isBlank()) {
+            sellerPhone = car.sellerPhone();
         }
-        List<PackageType> packageTypes = car.getPackageTypes();
-        if ((packageTypes == null || packageTypes.isEmpty()) && car.getPackageType() != null) {
-            packageTypes = List.of(car.getPackageType());
+        if ((packageTypes == null || packageTypes.isEmpty()) && car.packageType() != null) {
+            packageTypes = List.of(car.packageType());
         }
 
         return CarResponse.builder()
-                .id(car.getId())
-                .ownerId(car.getOwner().getId())
-                .title(car.getTitle())
-                .listingType(car.getListingType())
-                .packageType(car.getPackageType())
+                .id(car.id())
+                .ownerId(car.ownerId())
+                .title(car.title())
+                .listingType(car.listingType())
+                .packageType(car.packageType())
                 .packageTypes(packageTypes)
-                .category(car.getCategory())
-                .make(car.getMake())
-                .model(car.getModel())
-                .year(car.getYear())
-                .mileage(car.getMileage())
-                .fuelType(car.getFuelType())
-                .transmission(car.getTransmission())
-                .bodyType(car.getBodyType())
-                .engineVolume(car.getEngineVolume())
-                .price(car.getPrice())
-                .contactPhone(car.getContactPhone())
+                .category(car.category())
+                .make(car.make())
+                .model(car.model())
+                .year(car.year())
+                .mileage(car.mileage())
+                .fuelType(car.fuelType())
+                .transmission(car.transmission())
+                .bodyType(car.bodyType())
+                .engineVolume(car.engineVolume())
+                .price(car.price())
+                .contactPhone(car.contactPhone())
                 .sellerName(sellerName)
                 .sellerUsername(sellerUsername)
                 .sellerPhone(sellerPhone)
-                .color(car.getColor())
-                .description(car.getDescription())
-                .location(car.getLocation())
-                .imageId(car.getImageId())
+                .color(car.color())
+                .description(car.description())
+                .location(car.location())
+                .imageId(car.imageId())
                 .photos(photos)
                 .images(photos)
-                .isActive(car.isActive())
-                .isVip(car.isVip())
-                .vipExpiresAt(car.getVipExpiresAt())
-                .createdAt(car.getCreatedAt())
-                .updatedAt(car.getUpdatedAt())
+                .isActive(car.active())
+                .isVip(car.vip())
+                .vipExpiresAt(car.vipExpiresAt())
+                .createdAt(car.createdAt())
+                .updatedAt(car.updatedAt())
                 .build();
     }
 
+    public static void assignOwner(CarListing car, User owner) {
+        car.setOwner(owner);
+        car.setSellerName(owner.getName());
+        car.setSellerEmail(owner.getEmail());
+        car.setSellerPhone(owner.getPhoneNumber());
+    }
+
     private static void applyPackageTypes(CarListing car, PackageType packageType, List<PackageType> packageTypes) {
         if (packageTypes != null) {
             List<PackageType> normalized = packageTypes.stream()
@@ -144,6 +155,7 @@ public class CarMapper {
         if ((car.getPackageTypes() == null || car.getPackageTypes().isEmpty()) && car.getPackageType() != null) {
             car.setPackageTypes(new ArrayList<>(List.of(car.getPackageType())));
         }
+        car.setPackageTypeMask(PackageTypeMask.of(car.getPackageType(), car.getPackageTypes()));
     }
 
     private static List<String> sanitizePhotos(List<String> photos) {
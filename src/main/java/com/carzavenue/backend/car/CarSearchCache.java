@@ -0,0 +1,114 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.CountMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of public search pages keyed by the normalized filters plus page, size and sort.
+ * A listing change only evicts the searches that its old or new state matches. Each entry also remembers
+ * the search index watermark it was loaded at, and an entry from another watermark is a miss, so writes
+ * made on other nodes (picked up by the index sync) and VIP sweeps are never served from the cache under
+ * the newer ETag. Entries also expire after a TTL.
+ */
+@Component
+public class CarSearchCache {
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long generation;
+
+    public CarSearchCache(@Value("${app.search.cache.enabled:true}") boolean enabled,
+                          @Value("${app.search.cache.max-entries:1000}") int maxEntries,
+                          @Value("${app.search.cache.ttl-ms:60000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @param watermark the search index watermark the caller validates against, or null while the index is
+     *                  not ready
+     */
+    public Slice<CarResponse> get(CarSearchCriteria criteria, int page, int size, String sort, CountMode countMode,
+                                  CarSearchIndex.Watermark watermark, Supplier<Slice<CarResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(criteria.normalized(), page, size, sort == null ? null : sort.toLowerCase(), countMode);
+        long startedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis() && Objects.equals(entry.watermark, watermark)) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            startedGeneration = generation;
+        }
+        Slice<CarResponse> value = loader.get();
+        synchronized (this) {
+            // A listing changed while loading; the result may already be stale, so do not keep it
+            if (generation == startedGeneration) {
+                entries.put(key, new Entry(value, watermark, System.currentTimeMillis() + ttlMillis));
+                if (entries.size() > maxEntries) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return value;
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(CarListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                CarSearchCriteria criteria = it.next().getKey().criteria();
+                if (criteria.matches(event.before()) || criteria.matches(event.after())) {
+                    it.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+
+    private record Key(CarSearchCriteria criteria, int page, int size, String sort, CountMode countMode) {
+    }
+
+    private record Entry(Slice<CarResponse> value, CarSearchIndex.Watermark watermark, long expiresAt) {
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions, long invalidations) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.carzavenue.backend.car;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Value
+@Builder
+public class CarSearchCriteria {
+    String q;
+    String make;
+    String model;
+    List<PackageType> packageTypes;
+    List<VehicleCategory> categories;
+    Integer yearMin;
+    Integer yearMax;
+    Double priceMin;
+    Double priceMax;
+    String fuelType;
+    String transmission;
+    String bodyType;
+    Integer mileageMin;
+    Integer mileageMax;
+    String location;
+    Boolean isVip;
+
+    /**
+     * Same search with case and list order folded away, so equivalent requests compare equal.
+     */
+    public CarSearchCriteria normalized() {
+        return CarSearchCriteria.builder()
+                .q(fold(q))
+                .make(fold(make))
+                .model(fold(model))
+                .packageTypes(sorted(packageTypes))
+                .categories(sorted(categories))
+                .yearMin(yearMin)
+                .yearMax(yearMax)
+                .priceMin(priceMin)
+                .priceMax(priceMax)
+                .fuelType(fold(fuelType))
+                .transmission(fold(transmission))
+                .bodyType(fold(bodyType))
+                .mileageMin(mileageMin)
+                .mileageMax(mileageMax)
+                .location(fold(location))
+                .isVip(isVip)
+                .build();
+    }
+
+    /**
+     * Whether the listing would be part of this search's results. Keyword searches cannot be decided from
+     * a snapshot and conservatively match every active listing.
+     */
+    public boolean matches(CarListingSnapshot car) {
+        if (car == null || !car.active()) {
+            return false;
+        }
+        if (q != null) {
+            return true;
+        }
+        return equalsIgnoreCase(make, car.make())
+                && equalsIgnoreCase(model, car.model())
+                && equalsIgnoreCase(fuelType, car.fuelType())
+                && equalsIgnoreCase(transmission, car.transmission())
+                && equalsIgnoreCase(bodyType, car.bodyType())
+                && (packageTypes == null || packageTypes.isEmpty() || packageTypes.stream().anyMatch(car.packageTypes()::contains))
+                && (categories == null || categories.isEmpty() || categories.contains(car.category()))
+                && inRange(car.year(), yearMin, yearMax)
+                && inRange(car.mileage(), mileageMin, mileageMax)
+                && inRange(car.price(), priceMin, priceMax)
+                && (location == null || (car.location() != null && car.location().toLowerCase().contains(location.toLowerCase())))
+                && (isVip == null || isVip == car.vip());
+    }
+
+    private static boolean equalsIgnoreCase(String expected, String actual) {
+        return expected == null || expected.equalsIgnoreCase(actual);
+    }
+
+    private static <T extends Comparable<T>> boolean inRange(T value, T min, T max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value.compareTo(min) >= 0) && (max == null || value.compareTo(max) <= 0);
+    }
+
+    private static String fold(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    private static <E extends Enum<E>> List<E> sorted(List<E> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream().distinct().sorted(Comparator.naturalOrder()).toList();
+    }
+}
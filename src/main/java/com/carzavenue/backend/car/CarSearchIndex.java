@@ -0,0 +1,708 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.car.dto.CarFacetsResponse;
+import com.carzavenue.backend.car.dto.CarHistogramsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * In-process columnar copy of the active listings used to filter and sort public searches without
+ * touching the database. Only the ids of the requested page are hydrated from Postgres afterwards.
+ */
+@Component
+public class CarSearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CarSearchIndex.class);
+    static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final CarListingRepository carRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<CarListingChangedEvent> pendingDuringRebuild = new ArrayList<>();
+    private Columns columns = new Columns();
+    private boolean rebuilding;
+    private volatile boolean ready;
+    private volatile Instant lastSyncedAt;
+
+    public CarSearchIndex(CarListingRepository carRepository,
+                          @Value("${app.search.index.enabled:true}") boolean enabled,
+                          @Value("${app.search.index.batch-size:5000}") int batchSize) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public Optional<SearchResult> search(CarSearchCriteria criteria, String sort, long offset, int limit) {
+        // Keyword queries go to the tsvector index in Postgres
+        if (!isReady() || criteria.getQ() != null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = columns.filter(criteria);
+            int total = matches.cardinality();
+            return Optional.of(new SearchResult(columns.page(matches, total, SortOrder.from(sort), offset, limit), total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Value counts per facet for the given filters. Every facet ignores its own filter so the sidebar
+     * can still offer the alternatives to what is currently selected.
+     */
+    public Optional<CarFacetsResponse> facets(CarSearchCriteria criteria) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(columns.facets(criteria));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Newest {@code updatedAt} among indexed changes plus the live count, which also moves on deletes.
+     * Nodes that have caught up with the same writes report the same watermark.
+     */
+    public Optional<Watermark> watermark() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(new Watermark(columns.lastModified, columns.slots.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Price, year, mileage and engine volume distributions for the given filters; each ignores its own range.
+     */
+    public Optional<CarHistogramsResponse> histograms(CarSearchCriteria criteria, int buckets) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(columns.histograms(criteria, buckets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.search.index.rebuild-interval-ms:900000}",
+            fixedDelayString = "${app.search.index.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        if (isReady()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Picks up writes made by other nodes; local writes already arrive through {@link #onListingChanged}.
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.sync-interval-ms:30000}")
+    public void syncRecentChanges() {
+        if (!isReady()) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        Instant since = lastSyncedAt.minus(SYNC_OVERLAP);
+        List<CarListingSnapshot> changed = carRepository.withPackageTypes(carRepository.findIndexRowsUpdatedSince(since));
+        List<Object[]> deleted = carRepository.findDeletedSince(since);
+        lock.writeLock().lock();
+        try {
+            for (CarListingSnapshot row : changed) {
+                if (row.active()) {
+                    columns.put(row);
+                } else {
+                    columns.remove(row.id());
+                    columns.touch(row.updatedAt());
+                }
+            }
+            for (Object[] row : deleted) {
+                columns.remove(((Number) row[0]).longValue());
+                columns.touch(Instant.ofEpochMilli(((Number) row[1]).longValue()));
+            }
+            lastSyncedAt = startedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onListingChanged(CarListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(columns, event);
+            if (rebuilding) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild() {
+        Instant startedAt = Instant.now();
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Columns fresh = new Columns();
+            long afterId = 0L;
+            while (true) {
+                List<CarListingSnapshot> batch = carRepository.withPackageTypes(
+                        carRepository.findIndexRows(afterId, PageRequest.of(0, batchSize)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                batch.forEach(fresh::put);
+                afterId = batch.get(batch.size() - 1).id();
+            }
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild.forEach(event -> apply(fresh, event));
+                columns = fresh;
+                lastSyncedAt = startedAt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LOGGER.info("Car search index rebuilt with {} listings in {} ms",
+                    fresh.slots.size(), Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (RuntimeException ex) {
+            LOGGER.error("Car search index rebuild failed", ex);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void apply(Columns target, CarListingChangedEvent event) {
+        if (event.after() == null || !event.after().active()) {
+            target.remove(event.id());
+            if (event.after() != null) {
+                target.touch(event.after().updatedAt());
+            }
+        } else {
+            target.put(event.after());
+        }
+    }
+
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    public record Watermark(long lastModified, int size) {
+    }
+
+    enum SortOrder {
+        NEWEST, PRICE_ASC, PRICE_DESC;
+
+        static SortOrder from(String sort) {
+            if ("price_asc".equalsIgnoreCase(sort)) {
+                return PRICE_ASC;
+            }
+            if ("price_desc".equalsIgnoreCase(sort)) {
+                return PRICE_DESC;
+            }
+            return NEWEST;
+        }
+    }
+
+    /**
+     * Slot-addressed primitive columns plus one bitset per categorical value. Slots of removed listings
+     * are recycled so the arrays only grow with the peak number of active listings.
+     */
+    static final class Columns {
+        private static final int NULL_INT = Integer.MIN_VALUE;
+        private static final double[] PRICE_BUCKETS = {0, 5_000, 10_000, 20_000, 30_000, 50_000, 100_000};
+
+        private long[] ids = new long[1024];
+        private double[] prices = new double[1024];
+        private int[] years = new int[1024];
+        private int[] mileages = new int[1024];
+        private double[] engineVolumes = new double[1024];
+        private long[] createdAt = new long[1024];
+        private String[] locations = new String[1024];
+        private final BitSet live = new BitSet();
+        private final BitSet vip = new BitSet();
+        private final Map<String, BitSet> makes = new HashMap<>();
+        private final Map<String, BitSet> models = new HashMap<>();
+        private final Map<String, BitSet> fuelTypes = new HashMap<>();
+        private final Map<String, BitSet> transmissions = new HashMap<>();
+        private final Map<String, BitSet> bodyTypes = new HashMap<>();
+        private final Map<VehicleCategory, BitSet> categories = new EnumMap<>(VehicleCategory.class);
+        private final Map<PackageType, BitSet> packageTypes = new EnumMap<>(PackageType.class);
+        private final Map<String, String> labels = new HashMap<>();
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        private int highWater;
+        private long lastModified;
+
+        void put(CarListingSnapshot row) {
+            Integer existing = slots.get(row.id());
+            int slot;
+            if (existing != null) {
+                clear(existing);
+                slot = existing;
+            } else {
+                slot = freeSlots.isEmpty() ? highWater++ : freeSlots.pop();
+                ensureCapacity(slot + 1);
+                slots.put(row.id(), slot);
+            }
+            ids[slot] = row.id();
+            prices[slot] = row.price() == null ? Double.NaN : row.price();
+            years[slot] = row.year() == null ? NULL_INT : row.year();
+            mileages[slot] = row.mileage() == null ? NULL_INT : row.mileage();
+            engineVolumes[slot] = row.engineVolume() == null ? Double.NaN : row.engineVolume();
+            createdAt[slot] = row.createdAt() == null ? Long.MIN_VALUE : row.createdAt().toEpochMilli();
+            locations[slot] = key(row.location());
+            live.set(slot);
+            if (row.vip()) {
+                vip.set(slot);
+            }
+            mark(makes, label(row.make()), slot);
+            mark(models, label(row.model()), slot);
+            mark(fuelTypes, label(row.fuelType()), slot);
+            mark(transmissions, label(row.transmission()), slot);
+            mark(bodyTypes, label(row.bodyType()), slot);
+            mark(categories, row.category(), slot);
+            row.packageTypes().forEach(packageType -> mark(packageTypes, packageType, slot));
+            touch(row.updatedAt());
+        }
+
+        void touch(Instant updatedAt) {
+            if (updatedAt != null) {
+                lastModified = Math.max(lastModified, updatedAt.toEpochMilli());
+            }
+        }
+
+        void remove(Long id) {
+            Integer slot = slots.remove(id);
+            if (slot != null) {
+                clear(slot);
+                freeSlots.push(slot);
+            }
+        }
+
+        BitSet filter(CarSearchCriteria criteria) {
+            BitSet result = categorical(criteria);
+            String location = key(criteria.getLocation());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                if (!rowMatches(slot, criteria, location) || !priceMatches(slot, criteria)) {
+                    result.clear(slot);
+                }
+            }
+            return result;
+        }
+
+        CarHistogramsResponse histograms(CarSearchCriteria criteria, int bucketCount) {
+            BitSet base = categorical(criteria);
+            String location = key(criteria.getLocation());
+            // Each slider ignores its own range so shoppers can see where widening it would lead.
+            BitSet byPrice = new BitSet();
+            BitSet byYear = new BitSet();
+            BitSet byMileage = new BitSet();
+            BitSet all = new BitSet();
+            for (int slot = base.nextSetBit(0); slot >= 0; slot = base.nextSetBit(slot + 1)) {
+                if (location != null && (locations[slot] == null || !locations[slot].contains(location))) {
+                    continue;
+                }
+                boolean priceOk = priceMatches(slot, criteria);
+                boolean yearOk = inRange(years[slot], criteria.getYearMin(), criteria.getYearMax());
+                boolean mileageOk = inRange(mileages[slot], criteria.getMileageMin(), criteria.getMileageMax());
+                if (yearOk && mileageOk) {
+                    byPrice.set(slot);
+                }
+                if (priceOk && mileageOk) {
+                    byYear.set(slot);
+                }
+                if (priceOk && yearOk) {
+                    byMileage.set(slot);
+                }
+                if (priceOk && yearOk && mileageOk) {
+                    all.set(slot);
+                }
+            }
+            return CarHistogramsResponse.builder()
+                    .total(all.cardinality())
+                    .price(histogram(byPrice, slot -> prices[slot], bucketCount, false))
+                    .year(histogram(byYear, slot -> intValue(years[slot]), bucketCount, true))
+                    .mileage(histogram(byMileage, slot -> intValue(mileages[slot]), bucketCount, true))
+                    .engineVolume(histogram(all, slot -> engineVolumes[slot], bucketCount, false))
+                    .build();
+        }
+
+        CarFacetsResponse facets(CarSearchCriteria criteria) {
+            // Filters without a facet of their own narrow every facet alike.
+            BitSet common = (BitSet) live.clone();
+            restrict(common, models, criteria.getModel());
+            restrictVip(common, criteria.getIsVip());
+            String location = key(criteria.getLocation());
+            BitSet priced = new BitSet();
+            for (int slot = common.nextSetBit(0); slot >= 0; slot = common.nextSetBit(slot + 1)) {
+                if (!rowMatches(slot, criteria, location)) {
+                    common.clear(slot);
+                } else if (priceMatches(slot, criteria)) {
+                    priced.set(slot);
+                }
+            }
+            boolean priceFiltered = criteria.getPriceMin() != null || criteria.getPriceMax() != null;
+            BitSet[] selections = {
+                    selection(makes, key(criteria.getMake())),
+                    selection(fuelTypes, key(criteria.getFuelType())),
+                    selection(bodyTypes, key(criteria.getBodyType())),
+                    selection(transmissions, key(criteria.getTransmission())),
+                    selectionAny(categories, criteria.getCategories()),
+                    selectionAny(packageTypes, criteria.getPackageTypes()),
+                    priceFiltered ? priced : null
+            };
+            return CarFacetsResponse.builder()
+                    .total(scope(common, selections, -1).cardinality())
+                    .make(counts(makes, scope(common, selections, 0), labels::get))
+                    .fuelType(counts(fuelTypes, scope(common, selections, 1), labels::get))
+                    .bodyType(counts(bodyTypes, scope(common, selections, 2), labels::get))
+                    .transmission(counts(transmissions, scope(common, selections, 3), labels::get))
+                    .category(counts(categories, scope(common, selections, 4), Enum::name))
+                    .packageType(counts(packageTypes, scope(common, selections, 5), Enum::name))
+                    .price(priceBuckets(scope(common, selections, 6)))
+                    .build();
+        }
+
+        List<Long> page(BitSet matches, int total, SortOrder order, long offset, int limit) {
+            if (offset >= total || limit <= 0) {
+                return List.of();
+            }
+            int needed = (int) Math.min(total, offset + (long) limit);
+            Comparator<Integer> comparator = comparator(order);
+            List<Integer> ordered;
+            if (needed < total / 2) {
+                PriorityQueue<Integer> top = new PriorityQueue<>(needed, comparator.reversed());
+                for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    if (top.size() < needed) {
+                        top.add(slot);
+                    } else if (comparator.compare(slot, top.peek()) < 0) {
+                        top.poll();
+                        top.add(slot);
+                    }
+                }
+                ordered = new ArrayList<>(top);
+            } else {
+                ordered = new ArrayList<>(total);
+                for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    ordered.add(slot);
+                }
+            }
+            ordered.sort(comparator);
+            return ordered.subList((int) offset, needed).stream()
+                    .map(slot -> ids[slot])
+                    .toList();
+        }
+
+        private BitSet categorical(CarSearchCriteria criteria) {
+            BitSet result = (BitSet) live.clone();
+            restrict(result, makes, criteria.getMake());
+            restrict(result, models, criteria.getModel());
+            restrict(result, fuelTypes, criteria.getFuelType());
+            restrict(result, transmissions, criteria.getTransmission());
+            restrict(result, bodyTypes, criteria.getBodyType());
+            restrictAny(result, packageTypes, criteria.getPackageTypes());
+            restrictAny(result, categories, criteria.getCategories());
+            restrictVip(result, criteria.getIsVip());
+            return result;
+        }
+
+        // Equal-width buckets between the observed min and max, like width_bucket with the top value kept
+        // in the last bucket. Integral columns use whole-number widths so a year never straddles buckets.
+        private static CarHistogramsResponse.Histogram histogram(BitSet scope, IntToDoubleFunction values,
+                                                                 int bucketCount, boolean integral) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int slot = scope.nextSetBit(0); slot >= 0; slot = scope.nextSetBit(slot + 1)) {
+                double value = values.applyAsDouble(slot);
+                if (!Double.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (min > max) {
+                return new CarHistogramsResponse.Histogram(null, null, List.of());
+            }
+            double width = integral
+                    ? Math.max(1, Math.ceil((max - min + 1) / bucketCount))
+                    : (max - min) / bucketCount;
+            int buckets = width == 0 ? 1 : (int) Math.min(bucketCount, Math.floor((max - min) / width) + 1);
+            long[] counts = new long[buckets];
+            for (int slot = scope.nextSetBit(0); slot >= 0; slot = scope.nextSetBit(slot + 1)) {
+                double value = values.applyAsDouble(slot);
+                if (!Double.isNaN(value)) {
+                    int bucket = width == 0 ? 0 : (int) Math.min(buckets - 1, Math.floor((value - min) / width));
+                    counts[bucket]++;
+                }
+            }
+            List<CarHistogramsResponse.Bucket> result = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                double from = min + i * width;
+                double to = i == buckets - 1 && !integral ? max : from + width;
+                result.add(new CarHistogramsResponse.Bucket(from, to, counts[i]));
+            }
+            return new CarHistogramsResponse.Histogram(min, max, result);
+        }
+
+        private static double intValue(int value) {
+            return value == NULL_INT ? Double.NaN : value;
+        }
+
+        private boolean rowMatches(int slot, CarSearchCriteria criteria, String location) {
+            if (!inRange(years[slot], criteria.getYearMin(), criteria.getYearMax())
+                    || !inRange(mileages[slot], criteria.getMileageMin(), criteria.getMileageMax())) {
+                return false;
+            }
+            return location == null || (locations[slot] != null && locations[slot].contains(location));
+        }
+
+        private boolean priceMatches(int slot, CarSearchCriteria criteria) {
+            if (criteria.getPriceMin() != null && !(prices[slot] >= criteria.getPriceMin())) {
+                return false;
+            }
+            return criteria.getPriceMax() == null || prices[slot] <= criteria.getPriceMax();
+        }
+
+        private List<CarFacetsResponse.PriceBucket> priceBuckets(BitSet scope) {
+            long[] counts = new long[PRICE_BUCKETS.length];
+            for (int slot = scope.nextSetBit(0); slot >= 0; slot = scope.nextSetBit(slot + 1)) {
+                double price = prices[slot];
+                if (Double.isNaN(price) || price < PRICE_BUCKETS[0]) {
+                    continue;
+                }
+                int bucket = Arrays.binarySearch(PRICE_BUCKETS, price);
+                counts[bucket >= 0 ? bucket : -bucket - 2]++;
+            }
+            List<CarFacetsResponse.PriceBucket> buckets = new ArrayList<>(PRICE_BUCKETS.length);
+            for (int i = 0; i < PRICE_BUCKETS.length; i++) {
+                Double to = i + 1 < PRICE_BUCKETS.length ? PRICE_BUCKETS[i + 1] : null;
+                buckets.add(new CarFacetsResponse.PriceBucket(PRICE_BUCKETS[i], to, counts[i]));
+            }
+            return buckets;
+        }
+
+        private boolean inRange(int value, Integer min, Integer max) {
+            if (min == null && max == null) {
+                return true;
+            }
+            if (value == NULL_INT) {
+                return false;
+            }
+            return (min == null || value >= min) && (max == null || value <= max);
+        }
+
+        // Mirrors Postgres ordering: NULL prices sort last ascending and first descending.
+        private Comparator<Integer> comparator(SortOrder order) {
+            Comparator<Integer> byIdDesc = (a, b) -> Long.compare(ids[b], ids[a]);
+            return switch (order) {
+                case PRICE_ASC -> ((Comparator<Integer>) (a, b) -> comparePrices(prices[a], prices[b])).thenComparing(byIdDesc);
+                case PRICE_DESC -> ((Comparator<Integer>) (a, b) -> comparePrices(prices[b], prices[a])).thenComparing(byIdDesc);
+                case NEWEST -> ((Comparator<Integer>) (a, b) -> Long.compare(createdAt[b], createdAt[a])).thenComparing(byIdDesc);
+            };
+        }
+
+        private static int comparePrices(double a, double b) {
+            boolean aNull = Double.isNaN(a);
+            boolean bNull = Double.isNaN(b);
+            if (aNull || bNull) {
+                return Boolean.compare(aNull, bNull);
+            }
+            return Double.compare(a, b);
+        }
+
+        private void clear(int slot) {
+            live.clear(slot);
+            vip.clear(slot);
+            locations[slot] = null;
+            clearSlot(makes.values(), slot);
+            clearSlot(models.values(), slot);
+            clearSlot(fuelTypes.values(), slot);
+            clearSlot(transmissions.values(), slot);
+            clearSlot(bodyTypes.values(), slot);
+            clearSlot(categories.values(), slot);
+            clearSlot(packageTypes.values(), slot);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(required, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            years = Arrays.copyOf(years, capacity);
+            mileages = Arrays.copyOf(mileages, capacity);
+            engineVolumes = Arrays.copyOf(engineVolumes, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+        }
+
+        private static <K> void mark(Map<K, BitSet> index, K key, int slot) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new BitSet()).set(slot);
+            }
+        }
+
+        private static void clearSlot(Collection<BitSet> bitsets, int slot) {
+            for (BitSet bitset : bitsets) {
+                bitset.clear(slot);
+            }
+        }
+
+        private String label(String value) {
+            String key = key(value);
+            if (key != null) {
+                labels.putIfAbsent(key, value);
+            }
+            return key;
+        }
+
+        private void restrictVip(BitSet result, Boolean isVip) {
+            if (isVip == null) {
+                return;
+            }
+            if (isVip) {
+                result.and(vip);
+            } else {
+                result.andNot(vip);
+            }
+        }
+
+        private static BitSet scope(BitSet common, BitSet[] selections, int excluded) {
+            BitSet scope = (BitSet) common.clone();
+            for (int i = 0; i < selections.length; i++) {
+                if (i != excluded && selections[i] != null) {
+                    scope.and(selections[i]);
+                }
+            }
+            return scope;
+        }
+
+        private static <K> List<CarFacetsResponse.FacetCount> counts(Map<K, BitSet> index, BitSet scope,
+                                                                      Function<K, String> label) {
+            List<CarFacetsResponse.FacetCount> counts = new ArrayList<>();
+            BitSet hits = new BitSet();
+            for (Map.Entry<K, BitSet> entry : index.entrySet()) {
+                hits.clear();
+                hits.or(entry.getValue());
+                hits.and(scope);
+                int count = hits.cardinality();
+                if (count > 0) {
+                    counts.add(new CarFacetsResponse.FacetCount(label.apply(entry.getKey()), count));
+                }
+            }
+            counts.sort(Comparator.comparingLong(CarFacetsResponse.FacetCount::getCount).reversed()
+                    .thenComparing(CarFacetsResponse.FacetCount::getValue));
+            return counts;
+        }
+
+        private static BitSet selection(Map<String, BitSet> index, String key) {
+            if (key == null) {
+                return null;
+            }
+            return index.getOrDefault(key, new BitSet());
+        }
+
+        private static <K> BitSet selectionAny(Map<K, BitSet> index, List<K> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (K value : values) {
+                BitSet matching = index.get(value);
+                if (matching != null) {
+                    union.or(matching);
+                }
+            }
+            return union;
+        }
+
+        private static void restrict(BitSet result, Map<String, BitSet> index, String value) {
+            if (value == null) {
+                return;
+            }
+            BitSet matching = index.get(key(value));
+            if (matching == null) {
+                result.clear();
+            } else {
+                result.and(matching);
+            }
+        }
+
+        private static <K> void restrictAny(BitSet result, Map<K, BitSet> index, List<K> values) {
+            if (values == null || values.isEmpty()) {
+                return;
+            }
+            BitSet union = new BitSet();
+            for (K value : values) {
+                BitSet matching = index.get(value);
+                if (matching != null) {
+                    union.or(matching);
+                }
+            }
+            result.and(union);
+        }
+
+        private static String key(String value) {
+            return value == null ? null : value.toLowerCase();
+        }
+    }
+}
@@ -1,145 +1,233 @@
 package com.carzavenue.backend.car;
 
+import com.carzavenue.backend.car.dto.CarBulkImportResponse;
+import com.carzavenue.backend.car.dto.CarFacetsResponse;
+import com.carzavenue.backend.car.dto.CarHistogramsResponse;
 import com.carzavenue.backend.car.dto.CarRequest;
 import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.common.CursorPage;
+import com.carzavenue.backend.common.SeekCursor;
 import com.carzavenue.backend.image.ImageEntity;
 import com.carzavenue.backend.image.ImageStorageService;
-import com.carzavenue.backend.message.MessageRepository;
 import com.carzavenue.backend.payment.AccountService;
 import com.carzavenue.backend.user.User;
 import com.carzavenue.backend.user.UserRepository;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CarService {
     private final CarListingRepository carRepository;
     private final CarManufacturerRepository manufacturerRepository;
     private final CarModelRepository modelRepository;
-    private final CarLikeRepository carLikeRepository;
-    private final CarCommentRepository carCommentRepository;
-    private final MessageRepository messageRepository;
+    private final CarCatalog catalog;
     private final UserRepository userRepository;
     private final ImageStorageService imageStorageService;
     private final AccountService accountService;
+    private final CarSearchIndex searchIndex;
+    private final CarListingStreamer listingStreamer;
+    private final CarListingReader listingReader;
+    private final CarSearchCache searchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final CarBulkParser bulkParser;
+    private final CarBulkWriter bulkWriter;
+    // Validates bulk import rows off the request thread without borrowing the common ForkJoinPool
+    private final ExecutorService bulkValidationExecutor;
+    private final int bulkChunkSize;
     private static final BigDecimal QUICK_FILTER_PRICE = new BigDecimal("1.00");
     private static final int FREE_ADS_LIMIT = 10;
+    private static final int MAX_BULK_DELETE = 1000;
+    private static final Sort ID_DESC = Sort.by("id").descending();
+    private static final Sort NEWEST = Sort.by("createdAt").descending().and(ID_DESC);
     private final int vipDefaultDays;
 
     public CarService(CarListingRepository carRepository,
                       CarManufacturerRepository manufacturerRepository,
                       CarModelRepository modelRepository,
-                      CarLikeRepository carLikeRepository,
-                      CarCommentRepository carCommentRepository,
-                      MessageRepository messageRepository,
+                      CarCatalog catalog,
                       UserRepository userRepository,
                       ImageStorageService imageStorageService,
                       AccountService accountService,
-                      @org.springframework.beans.factory.annotation.Value("${app.vip.default-days:7}") int vipDefaultDays) {
+                      CarSearchIndex searchIndex,
+                      CarListingStreamer listingStreamer,
+                      CarListingReader listingReader,
+                      CarSearchCache searchCache,
+                      ApplicationEventPublisher eventPublisher,
+                      Validator validator,
+                      CarBulkParser bulkParser,
+                      CarBulkWriter bulkWriter,
+                      @org.springframework.beans.factory.annotation.Value("${app.vip.default-days:7}") int vipDefaultDays,
+                      @org.springframework.beans.factory.annotation.Value("${app.cars.bulk.validation-threads:4}") int bulkValidationThreads,
+                      @org.springframework.beans.factory.annotation.Value("${app.cars.bulk.chunk-size:200}") int bulkChunkSize) {
         this.carRepository = carRepository;
         this.manufacturerRepository = manufacturerRepository;
         this.modelRepository = modelRepository;
-        this.carLikeRepository = carLikeRepository;
-        this.carCommentRepository = carCommentRepository;
-        this.messageRepository = messageRepository;
+        this.catalog = catalog;
         this.userRepository = userRepository;
         this.imageStorageService = imageStorageService;
         this.accountService = accountService;
+        this.searchIndex = searchIndex;
+        this.listingStreamer = listingStreamer;
+        this.listingReader = listingReader;
+        this.searchCache = searchCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.bulkParser = bulkParser;
+        this.bulkWriter = bulkWriter;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.bulkValidationExecutor = Executors.newFixedThreadPool(bulkValidationThreads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-validation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bulkChunkSize = bulkChunkSize;
         this.vipDefaultDays = vipDefaultDays;
     }
 
+    @PreDestroy
+    void shutdownBulkValidation() {
+        bulkValidationExecutor.shutdown();
+    }
+
     @Transactional(readOnly = true)
-    public Page<CarResponse> list(String make,
-                                  String model,
-                                  java.util.List<PackageType> packageTypes,
-                                  java.util.List<VehicleCategory> categories,
-                                  Integer yearMin,
-                                  Integer yearMax,
-                                  Double priceMin,
-                                  Double priceMax,
-                                  String fuelType,
-                                  String transmission,
-                                  String bodyType,
-                                  Integer mileageMin,
-                                  Integer mileageMax,
-                                  String location,
-                                  Boolean isVip,
-                                  boolean all,
-                                  int page,
-                                  int size,
-                                  String sort) {
-        Specification<CarListing> spec = Specification.where(CarSpecifications.active())
-                .and(Optional.ofNullable(make).map(CarSpecifications::make).orElse(null))
-                .and(Optional.ofNullable(model).map(CarSpecifications::model).orElse(null))
-                .and(CarSpecifications.packageTypeIn(packageTypes))
-                .and(CarSpecifications.categoryIn(categories))
-                .and(Optional.ofNullable(yearMin).map(CarSpecifications::yearMin).orElse(null))
-                .and(Optional.ofNullable(yearMax).map(CarSpecifications::yearMax).orElse(null))
-                .and(Optional.ofNullable(priceMin).map(CarSpecifications::priceMin).orElse(null))
-                .and(Optional.ofNullable(priceMax).map(CarSpecifications::priceMax).orElse(null))
-                .and(Optional.ofNullable(fuelType).map(CarSpecifications::fuelType).orElse(null))
-                .and(Optional.ofNullable(transmission).map(CarSpecifications::transmission).orElse(null))
-                .and(Optional.ofNullable(bodyType).map(CarSpecifications::bodyType).orElse(null))
-                .and(Optional.ofNullable(mileageMin).map(CarSpecifications::mileageMin).orElse(null))
-                .and(Optional.ofNullable(mileageMax).map(CarSpecifications::mileageMax).orElse(null))
-                .and(Optional.ofNullable(location).map(CarSpecifications::location).orElse(null))
-                .and(Optional.ofNullable(isVip).map(CarSpecifications::vip).orElse(null))
-                .and(CarSpecifications.vipNotExpired());
-
-        Sort sortConfig;
-        if ("price_asc".equalsIgnoreCase(sort)) {
-            sortConfig = Sort.by("price").ascending();
-        } else if ("price_desc".equalsIgnoreCase(sort)) {
-            sortConfig = Sort.by("price").descending();
-        } else {
-            sortConfig = Sort.by("createdAt").descending();
+    public Slice<CarResponse> list(CarSearchCriteria criteria,
+                                   boolean all,
+                                   int page,
+                                   int size,
+                                   String sort,
+                                   CountMode countMode) {
+        if (!all) {
+            return searchCache.get(criteria, page, size, sort, countMode, searchIndex.watermark().orElse(null),
+                    () -> search(criteria, false, page, size, sort, countMode));
         }
+        return search(criteria, true, page, size, sort, CountMode.EXACT);
+    }
 
-        if (all) {
-            List<CarResponse> cars = carRepository.findAll(spec, sortConfig)
-                    .stream()
-                    .map(CarMapper::toResponse)
-                    .toList();
-            return new org.springframework.data.domain.PageImpl<>(
-                    cars,
-                    PageRequest.of(0, cars.size() == 0 ? 1 : cars.size(), sortConfig),
-                    cars.size()
-            );
-        }
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> listByCursor(CarSearchCriteria criteria, String cursor, int size, String sort) {
+        Sort.Order order = resolveSort(sort).iterator().next();
+        List<CarResponse> rows = listingReader.findAll(seekSpec(buildSearchSpec(criteria), order, cursor, size), seekSort(order), size + 1);
+        return toCursorPage(rows, order, size, CarResponse::getId,
+                car -> "price".equals(order.getProperty()) ? car.getPrice() : car.getCreatedAt(), Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CarResponse> likedByCursor(Long userId, String cursor, int size) {
+        Sort.Order order = Sort.Order.desc("createdAt");
+        List<CarResponse> rows = listingReader.findAll(seekSpec(CarSpecifications.likedBy(userId), order, cursor, size), seekSort(order), size + 1);
+        return toCursorPage(rows, order, size, CarResponse::getId, CarResponse::getCreatedAt, Function.identity());
+    }
 
-        return carRepository.findAll(spec, PageRequest.of(page, size, sortConfig)).map(CarMapper::toResponse);
+    /**
+     * Keyset page over listings ordered by {@code order} then id: no OFFSET and no count query,
+     * so the cost of a page does not depend on how deep the client has scrolled.
+     */
+    @Transactional(readOnly = true)
+    public <T> CursorPage<T> seekPage(Specification<CarListing> spec,
+                                      Sort.Order order,
+                                      String cursor,
+                                      int size,
+                                      Function<CarListing, T> mapper) {
+        Specification<CarListing> seek = seekSpec(spec, order, cursor, size);
+        List<CarListing> rows = carRepository.findBy(seek, query -> query.sortBy(seekSort(order)).limit(size + 1).all());
+        return toCursorPage(rows, order, size, CarListing::getId,
+                car -> "price".equals(order.getProperty()) ? car.getPrice() : car.getCreatedAt(), mapper);
     }
 
     @Transactional(readOnly = true)
     public List<CarResponse> listAll() {
-        Specification<CarListing> spec = Specification.where(CarSpecifications.active())
-                .and(CarSpecifications.vipNotExpired());
-        return carRepository.findAll(spec, Sort.by("createdAt").descending())
-                .stream()
-                .map(CarMapper::toResponse)
-                .toList();
+        Specification<CarListing> spec = Specification.where(CarSpecifications.active());
+        return listingReader.findAll(spec, NEWEST);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeAll(java.io.OutputStream out) throws java.io.IOException {
+        Specification<CarListing> spec = Specification.where(CarSpecifications.active());
+        listingStreamer.write(spec, NEWEST, out);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeList(CarSearchCriteria criteria, String sort, java.io.OutputStream out) throws java.io.IOException {
+        if (rankedByRelevance(criteria, sort)) {
+            listingStreamer.write(buildSearchSpec(criteria).and(CarSpecifications.rankedBy(criteria.getQ())),
+                    Sort.unsorted(), out);
+            return;
+        }
+        listingStreamer.write(buildSearchSpec(criteria), resolveSort(sort), out);
+    }
+
+    public CarFacetsResponse facets(CarSearchCriteria criteria) {
+        return searchIndex.facets(criteria)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is not ready"));
+    }
+
+    public CarHistogramsResponse histograms(CarSearchCriteria criteria, int buckets) {
+        if (buckets < 1 || buckets > 100) {
+            throw new IllegalArgumentException("buckets must be between 1 and 100");
+        }
+        return searchIndex.histograms(criteria, buckets)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is not ready"));
     }
 
     @Transactional(readOnly = true)
     public CarResponse get(Long id) {
-        CarListing car = carRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Car not found"));
-        return CarMapper.toResponse(car);
+        return listingReader.findByIds(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Car not found"));
+    }
+
+    /**
+     * Validator for conditional requests on a single listing, read without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public Instant lastModified(Long id) {
+        return carRepository.findLastModifiedById(id).orElseThrow(() -> new EntityNotFoundException("Car not found"));
+    }
+
+    /**
+     * Version of the public result pages, available while they are answered from the search index.
+     * Keyword searches rank in Postgres and are not versioned.
+     */
+    public Optional<CarSearchIndex.Watermark> listWatermark(CarSearchCriteria criteria) {
+        if (criteria.getQ() != null) {
+            return Optional.empty();
+        }
+        return searchIndex.watermark();
     }
 
     @Transactional
@@ -152,8 +240,9 @@ public class CarService {
         ensureManufacturerModelExists(request.getMake(), request.getModel());
         CarListing car = CarMapper.fromRequest(request);
         car.setTitle(buildTitle(request));
-        car.setOwner(owner);
+        CarMapper.assignOwner(car, owner);
         carRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.created(car));
         chargeQuickFilterIfNeeded(ownerId, request.getPackageTypes(), request.getPackageType(), car.getId());
         return CarMapper.toResponse(car);
     }
@@ -169,7 +258,7 @@ public class CarService {
         ensureManufacturerModelExists(request.getMake(), request.getModel());
         CarListing car = CarMapper.fromRequest(request);
         car.setTitle(buildTitle(request));
-        car.setOwner(owner);
+        CarMapper.assignOwner(car, owner);
 
         List<String> photoUrls = new ArrayList<>();
         if (images != null) {
@@ -188,10 +277,35 @@ public class CarService {
         }
 
         carRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.created(car));
         chargeQuickFilterIfNeeded(ownerId, request.getPackageTypes(), request.getPackageType(), car.getId());
         return CarMapper.toResponse(car);
     }
 
+    /**
+     * Imports an NDJSON or CSV file of listings for one owner. Rows are taken in chunks of
+     * {@code app.cars.bulk.chunk-size} as they are parsed: each chunk is validated on the bounded bulk
+     * validation pool, each new make/model pair is resolved once, and its valid rows are inserted in a JDBC
+     * batch. The whole import is billed as a single charge. Invalid rows are reported back and do not stop
+     * the others.
+     */
+    @Transactional
+    public CarBulkImportResponse bulkCreate(Long ownerId, java.io.InputStream body, String contentType) throws java.io.IOException {
+        User owner = userRepository.findById(ownerId).orElseThrow(() -> new EntityNotFoundException("User not found"));
+        long activeBefore = carRepository.countByOwnerIdAndIsActiveTrue(ownerId);
+        BulkImport bulkImport = new BulkImport(activeBefore);
+        bulkParser.parse(body, contentType, bulkChunkSize, chunk -> importChunk(chunk, owner, bulkImport));
+        if (bulkImport.created > 0) {
+            chargeBulkImport(ownerId, bulkImport);
+        }
+        return CarBulkImportResponse.builder()
+                .received(bulkImport.results.size())
+                .created(bulkImport.created)
+                .failed(bulkImport.results.size() - bulkImport.created)
+                .rows(bulkImport.results)
+                .build();
+    }
+
     @Transactional
     public CarResponse update(Long id, Long ownerId, boolean isAdmin, CarRequest request) {
         CarListing car = carRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Car not found"));
@@ -200,9 +314,13 @@ public class CarService {
         }
         request.setVinCode(normalizeVinCode(resolveVinCode(request)));
         ensureManufacturerModelExists(request.getMake(), request.getModel());
+        CarListingSnapshot before = CarListingSnapshot.of(car);
         CarMapper.updateEntity(car, request);
         car.setTitle(buildTitle(request));
+        // Photo-only edits dirty no column; updatedAt versions ETags and cached JSON, so bump it explicitly
+        car.setUpdatedAt(Instant.now());
         carRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.updated(before, car));
         return CarMapper.toResponse(car);
     }
 
@@ -212,10 +330,22 @@ public class CarService {
         if (!isAdmin && !car.getOwner().getId().equals(ownerId)) {
             throw new SecurityException("Not allowed");
         }
-        messageRepository.deleteByCarId(id);
-        carCommentRepository.deleteByCarId(id);
-        carLikeRepository.deleteByCarId(id);
-        carRepository.delete(car);
+        softDelete(car, Instant.now());
+    }
+
+    /**
+     * Admin bulk delete through the same soft-delete path; ids that do not exist or are already deleted are
+     * skipped. Returns the number of listings deleted.
+     */
+    @Transactional
+    public int deleteAll(java.util.Collection<Long> ids) {
+        if (ids.size() > MAX_BULK_DELETE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DELETE + " listings can be deleted at once");
+        }
+        Instant now = Instant.now();
+        List<CarListing> cars = carRepository.findAllById(ids);
+        cars.forEach(car -> softDelete(car, now));
+        return cars.size();
     }
 
     @Transactional
@@ -225,18 +355,30 @@ public class CarService {
             throw new SecurityException("Not allowed");
         }
         int vipDays = days != null ? days : vipDefaultDays;
+        CarListingSnapshot before = CarListingSnapshot.of(car);
         car.setVip(true);
         car.setVipExpiresAt(Instant.now().plus(vipDays, ChronoUnit.DAYS));
         carRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.updated(before, car));
         return CarMapper.toResponse(car);
     }
 
     @Transactional(readOnly = true)
     public List<CarResponse> listByOwner(Long ownerId) {
-        return carRepository.findAll((root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId))
-                .stream()
-                .map(CarMapper::toResponse)
-                .toList();
+        return listingReader.findAll((root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId), Sort.unsorted());
+    }
+
+    /**
+     * Copies the user's current display fields onto all of their listings; call after changing name, email or phone.
+     * One change event per listing makes the search cache evict the pages showing the old seller fields.
+     */
+    @Transactional
+    public void syncSeller(User user) {
+        List<CarListingSnapshot> before = carRepository.withPackageTypes(carRepository.findIndexRowsByOwnerId(user.getId()));
+        Instant now = Instant.now();
+        carRepository.updateSellerSnapshot(user.getId(), user.getName(), user.getEmail(), user.getPhoneNumber(), now);
+        before.forEach(snapshot -> eventPublisher.publishEvent(
+                new CarListingChangedEvent(snapshot.id(), snapshot, snapshot.withUpdatedAt(now))));
     }
 
     @Transactional(readOnly = true)
@@ -258,6 +400,10 @@ public class CarService {
         if (category != null) {
             return carRepository.findDistinctModelsByMakeAndCategory(cleanManufacturer, category);
         }
+        Optional<List<String>> cached = catalog.models(cleanManufacturer);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         Optional<CarManufacturer> carManufacturer = manufacturerRepository.findByNameIgnoreCase(cleanManufacturer);
         if (carManufacturer.isEmpty()) {
             return List.of();
@@ -273,16 +419,42 @@ public class CarService {
         if (category != null) {
             return carRepository.findDistinctMakesByCategory(category);
         }
-        return manufacturerRepository.findAllByOrderByIdAsc()
+        return catalog.manufacturers().orElseGet(() -> manufacturerRepository.findAllByOrderByIdAsc()
                 .stream()
                 .map(CarManufacturer::getName)
-                .toList();
+                .toList());
+    }
+
+    public List<String> suggestManufacturers(String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("prefix is required");
+        }
+        if (!catalog.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Catalog is not loaded");
+        }
+        return catalog.suggest(prefix, Math.max(1, Math.min(limit, 50)));
+    }
+
+    // Hides the listing from every read right away; CarListingPurger removes it and its messages,
+    // comments and likes later in small batches.
+    private void softDelete(CarListing car, Instant now) {
+        CarListingSnapshot before = CarListingSnapshot.of(car);
+        car.setDeletedAt(now);
+        car.setActive(false);
+        car.setUpdatedAt(now);
+        carRepository.save(car);
+        eventPublisher.publishEvent(CarListingChangedEvent.deleted(before));
     }
 
     private void ensureManufacturerModelExists(String manufacturer, String model) {
         String cleanManufacturer = requireText(manufacturer, "manufacturer");
         String cleanModel = requireText(model, "model");
-        CarManufacturer carManufacturer = manufacturerRepository.findByNameIgnoreCase(cleanManufacturer)
+        if (catalog.contains(cleanManufacturer, cleanModel)) {
+            return;
+        }
+        CarManufacturer carManufacturer = catalog.manufacturerId(cleanManufacturer)
+                .map(manufacturerRepository::getReferenceById)
+                .or(() -> manufacturerRepository.findByNameIgnoreCase(cleanManufacturer))
                 .orElseGet(() -> {
                     try {
                         return manufacturerRepository.save(CarManufacturer.builder()
@@ -305,6 +477,7 @@ public class CarService {
                                 .orElseThrow(() -> ex);
                     }
                 });
+        catalog.add(carManufacturer, cleanModel);
     }
 
     private String resolveVinCode(CarRequest request) {
@@ -341,6 +514,102 @@ public class CarService {
         return normalized;
     }
 
+    private record BulkRow(int line, CarListing car, List<PackageType> packageTypes, String error) {
+    }
+
+    // Running totals of one import; only the per-line results are kept across chunks
+    private static final class BulkImport {
+        private final long activeBefore;
+        private final Set<String> makeModels = new HashSet<>();
+        private final List<CarBulkImportResponse.Row> results = new ArrayList<>();
+        private int created;
+        private int billableUnits;
+        private Long firstId;
+        private Long lastId;
+
+        private BulkImport(long activeBefore) {
+            this.activeBefore = activeBefore;
+        }
+    }
+
+    private void importChunk(List<CarBulkParser.Row> rows, User owner, BulkImport bulkImport) {
+        List<CompletableFuture<BulkRow>> futures = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> prepareBulkRow(row, owner), bulkValidationExecutor))
+                .toList();
+        List<BulkRow> prepared = futures.stream().map(CompletableFuture::join).toList();
+        List<BulkRow> valid = prepared.stream().filter(row -> row.error() == null).toList();
+
+        valid.forEach(row -> {
+            CarListing car = row.car();
+            if (bulkImport.makeModels.add((car.getMake().trim() + "|" + car.getModel().trim()).toLowerCase(Locale.ROOT))) {
+                ensureManufacturerModelExists(car.getMake(), car.getModel());
+            }
+        });
+        List<Long> ids = bulkWriter.nextIds(valid.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < valid.size(); i++) {
+            CarListing car = valid.get(i).car();
+            car.setId(ids.get(i));
+            car.setCreatedAt(now);
+            car.setUpdatedAt(now);
+        }
+        if (!valid.isEmpty()) {
+            bulkWriter.insert(valid.stream().map(BulkRow::car).toList());
+            valid.forEach(row -> {
+                bulkImport.created++;
+                bulkImport.billableUnits += billableUnits(row, bulkImport.activeBefore + bulkImport.created);
+                bulkImport.firstId = bulkImport.firstId == null ? row.car().getId() : bulkImport.firstId;
+                bulkImport.lastId = row.car().getId();
+                eventPublisher.publishEvent(CarListingChangedEvent.created(row.car()));
+            });
+        }
+        prepared.forEach(row -> bulkImport.results.add(new CarBulkImportResponse.Row(row.line(),
+                row.car() != null ? row.car().getId() : null, row.error())));
+    }
+
+    private BulkRow prepareBulkRow(CarBulkParser.Row row, User owner) {
+        if (row.error() != null) {
+            return new BulkRow(row.line(), null, null, row.error());
+        }
+        CarRequest request = row.request();
+        String violations = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            return new BulkRow(row.line(), null, null, violations);
+        }
+        try {
+            request.setVinCode(normalizeVinCode(request.getVinCode()));
+            if (request.getContactPhone() == null || request.getContactPhone().trim().isEmpty()) {
+                request.setContactPhone(owner.getPhoneNumber());
+            }
+            CarListing car = CarMapper.fromRequest(request);
+            car.setTitle(buildTitle(request));
+            CarMapper.assignOwner(car, owner);
+            return new BulkRow(row.line(), car, resolvePackageTypes(request.getPackageTypes(), request.getPackageType()), null);
+        } catch (IllegalArgumentException ex) {
+            return new BulkRow(row.line(), null, null, ex.getMessage());
+        }
+    }
+
+    // Same units as chargeQuickFilterIfNeeded: packages per row, plus the listing fee for every row that
+    // takes the owner to FREE_ADS_LIMIT active listings or beyond.
+    private static int billableUnits(BulkRow row, long activeAfter) {
+        return row.packageTypes().size() + (activeAfter >= FREE_ADS_LIMIT ? 1 : 0);
+    }
+
+    private void chargeBulkImport(Long ownerId, BulkImport bulkImport) {
+        if (bulkImport.billableUnits == 0) {
+            return;
+        }
+        String currency = accountService.normalizeCurrency(null);
+        String referenceId = "bulk:" + bulkImport.firstId + "-" + bulkImport.lastId;
+        BigDecimal total = QUICK_FILTER_PRICE.multiply(new BigDecimal(bulkImport.billableUnits));
+        accountService.chargePackage(ownerId, currency, total, "listing", referenceId,
+                referenceId + ":units:" + bulkImport.billableUnits);
+    }
+
     private void chargeQuickFilterIfNeeded(Long ownerId, List<PackageType> packageTypes, PackageType fallback, Long listingId) {
         List<PackageType> resolved = resolvePackageTypes(packageTypes, fallback);
         long activeListings = carRepository.countByOwnerIdAndIsActiveTrue(ownerId);
@@ -400,4 +669,117 @@ public class CarService {
         }
         return value.trim();
     }
+
+    private Slice<CarResponse> search(CarSearchCriteria criteria,
+                                      boolean all,
+                                      int page,
+                                      int size,
+                                      String sort,
+                                      CountMode countMode) {
+        Sort sortConfig = resolveSort(sort);
+        long offset = all ? 0 : (long) page * size;
+        Optional<CarSearchIndex.SearchResult> indexed = searchIndex.search(criteria, sort, offset, all ? Integer.MAX_VALUE : size);
+        if (indexed.isPresent()) {
+            List<CarResponse> cars = listingReader.findByIds(indexed.get().ids());
+            PageRequest pageRequest = all
+                    ? PageRequest.of(0, cars.isEmpty() ? 1 : cars.size(), sortConfig)
+                    : PageRequest.of(page, size, sortConfig);
+            // The index total is exact and free, so only NONE drops it
+            if (countMode == CountMode.NONE) {
+                return new SliceImpl<>(cars, pageRequest, offset + size < indexed.get().total());
+            }
+            return new PageImpl<>(cars, pageRequest, indexed.get().total());
+        }
+
+        Specification<CarListing> spec = buildSearchSpec(criteria);
+        if (rankedByRelevance(criteria, sort)) {
+            spec = spec.and(CarSpecifications.rankedBy(criteria.getQ()));
+            sortConfig = Sort.unsorted();
+        }
+        if (all) {
+            List<CarResponse> cars = listingReader.findAll(spec, sortConfig);
+            return new PageImpl<>(
+                    cars,
+                    PageRequest.of(0, cars.size() == 0 ? 1 : cars.size(), sortConfig),
+                    cars.size()
+            );
+        }
+
+        return listingReader.findPage(spec, PageRequest.of(page, size, sortConfig), countMode);
+    }
+
+    private Specification<CarListing> buildSearchSpec(CarSearchCriteria criteria) {
+        return Specification.where(CarSpecifications.active())
+                .and(Optional.ofNullable(criteria.getQ()).map(CarSpecifications::fullText).orElse(null))
+                .and(Optional.ofNullable(criteria.getMake()).map(CarSpecifications::make).orElse(null))
+                .and(Optional.ofNullable(criteria.getModel()).map(CarSpecifications::model).orElse(null))
+                .and(CarSpecifications.packageTypeIn(criteria.getPackageTypes()))
+                .and(CarSpecifications.categoryIn(criteria.getCategories()))
+                .and(Optional.ofNullable(criteria.getYearMin()).map(CarSpecifications::yearMin).orElse(null))
+                .and(Optional.ofNullable(criteria.getYearMax()).map(CarSpecifications::yearMax).orElse(null))
+                .and(Optional.ofNullable(criteria.getPriceMin()).map(CarSpecifications::priceMin).orElse(null))
+                .and(Optional.ofNullable(criteria.getPriceMax()).map(CarSpecifications::priceMax).orElse(null))
+                .and(Optional.ofNullable(criteria.getFuelType()).map(CarSpecifications::fuelType).orElse(null))
+                .and(Optional.ofNullable(criteria.getTransmission()).map(CarSpecifications::transmission).orElse(null))
+                .and(Optional.ofNullable(criteria.getBodyType()).map(CarSpecifications::bodyType).orElse(null))
+                .and(Optional.ofNullable(criteria.getMileageMin()).map(CarSpecifications::mileageMin).orElse(null))
+                .and(Optional.ofNullable(criteria.getMileageMax()).map(CarSpecifications::mileageMax).orElse(null))
+                .and(Optional.ofNullable(criteria.getLocation()).map(CarSpecifications::location).orElse(null))
+                .and(Optional.ofNullable(criteria.getIsVip()).map(CarSpecifications::vip).orElse(null));
+    }
+
+    // Keyword searches are ordered by relevance unless a price sort was asked for explicitly
+    private boolean rankedByRelevance(CarSearchCriteria criteria, String sort) {
+        return criteria.getQ() != null
+                && !"price_asc".equalsIgnoreCase(sort)
+                && !"price_desc".equalsIgnoreCase(sort);
+    }
+
+    // Ties break on id desc, the same order CarSearchIndex uses, so a page reads alike from either source
+    private Sort resolveSort(String sort) {
+        if ("price_asc".equalsIgnoreCase(sort)) {
+            return Sort.by("price").ascending().and(ID_DESC);
+        } else if ("price_desc".equalsIgnoreCase(sort)) {
+            return Sort.by("price").descending().and(ID_DESC);
+        }
+        return NEWEST;
+    }
+
+    private Specification<CarListing> seekSpec(Specification<CarListing> spec, Sort.Order order, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (!"createdAt".equals(order.getProperty()) && !"price".equals(order.getProperty())) {
+            throw new IllegalArgumentException("cursor pagination supports createdAt or price sort");
+        }
+        SeekCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            position = SeekCursor.decode(cursor);
+            position.requireOrder(order);
+        }
+        return Specification.where(spec).and(CarSpecifications.after(position));
+    }
+
+    private Sort seekSort(Sort.Order order) {
+        return Sort.by(order).and(ID_DESC);
+    }
+
+    // rows holds up to size + 1 entries; the extra one only signals that another page exists
+    private <R, T> CursorPage<T> toCursorPage(List<R> rows,
+                                              Sort.Order order,
+                                              int size,
+                                              Function<R, Long> id,
+                                              Function<R, Object> value,
+                                              Function<R, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            R last = pageRows.get(pageRows.size() - 1);
+            Object lastValue = value.apply(last);
+            nextCursor = new SeekCursor(order.getProperty(), order.getDirection(),
+                    lastValue == null ? null : lastValue.toString(), id.apply(last)).encode();
+        }
+        return CursorPage.of(pageRows.stream().map(mapper).toList(), size, nextCursor);
+    }
 }
@@ -1,9 +1,16 @@
 package com.carzavenue.backend.car;
 
+import com.carzavenue.backend.common.LikePatterns;
+import com.carzavenue.backend.common.SeekCursor;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 public class CarSpecifications {
     public static Specification<CarListing> active() {
@@ -55,7 +62,38 @@ public class CarSpecifications {
     }
 
     public static Specification<CarListing> location(String location) {
-        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), "%" + location.toLowerCase() + "%");
+        return (root, query, cb) -> contains(cb, root.get("location"), location);
+    }
+
+    /**
+     * {@code lower(path) like '%value%'} with wildcards in {@code value} escaped; served by the V6 trigram indexes.
+     */
+    public static Predicate contains(CriteriaBuilder cb, Expression<String> path, String value) {
+        return cb.like(cb.lower(path), LikePatterns.contains(value), LikePatterns.ESCAPE);
+    }
+
+    /**
+     * Keyword match against the trigger-maintained {@code search_vector} column (GIN indexed). Accepts
+     * web-search syntax: quoted phrases, {@code or} and {@code -excluded} words.
+     */
+    public static Specification<CarListing> fullText(String q) {
+        return (root, query, cb) -> cb.isTrue(
+                cb.function("fts_match", Boolean.class, root.get("searchVector"), cb.literal(q)));
+    }
+
+    /**
+     * Orders the main listing query by relevance to {@code q}, newest first among equal ranks.
+     */
+    public static Specification<CarListing> rankedBy(String q) {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function("fts_rank", Double.class, root.get("searchVector"), cb.literal(q))),
+                        cb.desc(root.get("createdAt")),
+                        cb.desc(root.get("id")));
+            }
+            return null;
+        };
     }
 
     public static Specification<CarListing> vip(Boolean vip) {
@@ -63,22 +101,58 @@ public class CarSpecifications {
         return (root, query, cb) -> cb.equal(root.get("isVip"), vip);
     }
 
-    public static Specification<CarListing> vipNotExpired() {
-        return (root, query, cb) -> cb.or(cb.isNull(root.get("vipExpiresAt")),
-                cb.greaterThan(root.get("vipExpiresAt"), Instant.now()));
-    }
-
     public static Specification<CarListing> packageTypeIn(java.util.List<PackageType> packageTypes) {
         if (packageTypes == null || packageTypes.isEmpty()) return null;
-        return (root, query, cb) -> {
-            query.distinct(true);
-            var join = root.join("packageTypes", JoinType.LEFT);
-            return cb.or(join.in(packageTypes), root.get("packageType").in(packageTypes));
-        };
+        int bits = PackageTypeMask.of(null, packageTypes);
+        return (root, query, cb) -> cb.isTrue(
+                cb.function("bit_intersects", Boolean.class, root.get("packageTypeMask"), cb.literal(bits)));
     }
 
     public static Specification<CarListing> categoryIn(java.util.List<VehicleCategory> categories) {
         if (categories == null || categories.isEmpty()) return null;
         return (root, query, cb) -> root.get("category").in(categories);
     }
+
+    public static Specification<CarListing> likedBy(Long userId) {
+        return (root, query, cb) -> {
+            var subquery = query.subquery(Long.class);
+            var like = subquery.from(CarLike.class);
+            subquery.select(like.get("car").get("id"))
+                    .where(cb.equal(like.get("user").get("id"), userId));
+            return root.get("id").in(subquery);
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor for an ORDER BY {@code property, id} in the cursor's direction,
+     * following Postgres' default NULLS LAST for ascending and NULLS FIRST for descending order.
+     */
+    public static Specification<CarListing> after(SeekCursor cursor) {
+        if (cursor == null) return null;
+        boolean descending = cursor.direction() == Sort.Direction.DESC;
+        return switch (cursor.property()) {
+            case "createdAt" -> (root, query, cb) -> seek(cb, root, root.<Instant>get("createdAt"),
+                    cursor.value() == null ? null : Instant.parse(cursor.value()), cursor.id(), descending);
+            case "price" -> (root, query, cb) -> seek(cb, root, root.<Double>get("price"),
+                    cursor.value() == null ? null : Double.valueOf(cursor.value()), cursor.id(), descending);
+            default -> throw new IllegalArgumentException("cursor pagination supports createdAt or price sort");
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb,
+                                                                   Root<CarListing> root,
+                                                                   Path<Y> path,
+                                                                   Y value,
+                                                                   long id,
+                                                                   boolean descending) {
+        // Ties always continue in id desc order, whatever the direction of the sort value
+        Predicate idAfter = cb.lessThan(root.<Long>get("id"), id);
+        if (value == null) {
+            Predicate sameGroup = cb.and(cb.isNull(path), idAfter);
+            return descending ? cb.or(cb.isNotNull(path), sameGroup) : sameGroup;
+        }
+        Predicate beyond = descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+        Predicate tie = cb.and(cb.equal(path, value), idAfter);
+        return descending ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(path));
+    }
 }
@@ -1,11 +1,10 @@
 package com.carzavenue.backend.car;
 
-import com.carzavenue.backend.common.ApiResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Handles legacy calls like /carsall=true that some clients may use.
@@ -19,7 +18,9 @@ public class LegacyCarsAliasController {
     }
 
     @GetMapping("/carsall=true")
-    public ResponseEntity<ApiResponse<List<com.carzavenue.backend.car.dto.CarResponse>>> listAllLegacy() {
-        return ResponseEntity.ok(ApiResponse.ok(carService.listAll()));
+    public ResponseEntity<StreamingResponseBody> listAllLegacy() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(carService::writeAll);
     }
 }
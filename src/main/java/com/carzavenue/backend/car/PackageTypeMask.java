@@ -0,0 +1,40 @@
+package com.carzavenue.backend.car;
+
+import java.util.Collection;
+
+/**
+ * Bits of {@code car_listing.package_type_mask}. Every {@link PackageType} constant pins its own bit in its
+ * constructor ({@link PackageType#getBit()}), so reordering or inserting constants never reassigns the bits
+ * of stored rows; a new constant takes an unused bit.
+ */
+public final class PackageTypeMask {
+    static {
+        int seen = 0;
+        for (PackageType type : PackageType.values()) {
+            int bit = type.getBit();
+            if (Integer.bitCount(bit) != 1 || (seen & bit) != 0) {
+                throw new IllegalStateException("PackageType " + type + " needs a single bit of its own, has " + bit);
+            }
+            seen |= bit;
+        }
+    }
+
+    private PackageTypeMask() {
+    }
+
+    public static int bit(PackageType packageType) {
+        return packageType.getBit();
+    }
+
+    public static int of(PackageType packageType, Collection<PackageType> packageTypes) {
+        int mask = packageType == null ? 0 : bit(packageType);
+        if (packageTypes != null) {
+            for (PackageType type : packageTypes) {
+                if (type != null) {
+                    mask |= bit(type);
+                }
+            }
+        }
+        return mask;
+    }
+}
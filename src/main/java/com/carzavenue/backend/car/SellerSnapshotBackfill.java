@@ -0,0 +1,42 @@
+package com.carzavenue.backend.car;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the seller snapshot columns of listings created before they existed. Walks the id space in
+ * fixed ranges, one short transaction per range, and only touches rows that are still empty, so it is
+ * safe to rerun on every startup.
+ */
+@Component
+public class SellerSnapshotBackfill {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SellerSnapshotBackfill.class);
+
+    private final CarListingRepository carRepository;
+    private final int batchSize;
+
+    public SellerSnapshotBackfill(CarListingRepository carRepository,
+                                  @Value("${app.seller-snapshot.backfill-batch-size:2000}") int batchSize) {
+        this.carRepository = carRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Long maxId = carRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        long updated = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            updated += carRepository.backfillSellerSnapshot(fromId, fromId + batchSize);
+        }
+        if (updated > 0) {
+            LOGGER.info("Backfilled seller snapshot on {} listings", updated);
+        }
+    }
+}
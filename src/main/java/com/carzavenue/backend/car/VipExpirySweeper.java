@@ -0,0 +1,66 @@
+package com.carzavenue.backend.car;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clears {@code isVip} on listings whose VIP period has ended, so searches can filter on the flag alone.
+ * Batches are claimed with {@code FOR UPDATE SKIP LOCKED}, which lets every node run the sweep without
+ * two of them expiring the same rows.
+ */
+@Component
+public class VipExpirySweeper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VipExpirySweeper.class);
+
+    private final CarListingRepository carRepository;
+    private final int batchSize;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalExpired = new AtomicLong();
+    private volatile Run lastRun;
+
+    public VipExpirySweeper(CarListingRepository carRepository,
+                            @Value("${app.vip.sweep.batch-size:500}") int batchSize) {
+        this.carRepository = carRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.vip.sweep.interval-ms:60000}",
+            fixedDelayString = "${app.vip.sweep.interval-ms:60000}")
+    public void sweep() {
+        Instant startedAt = Instant.now();
+        int expired = 0;
+        try {
+            List<Long> batch;
+            do {
+                batch = carRepository.expireVipBatch(batchSize);
+                expired += batch.size();
+            } while (batch.size() == batchSize);
+        } finally {
+            long tookMs = Duration.between(startedAt, Instant.now()).toMillis();
+            runs.incrementAndGet();
+            totalExpired.addAndGet(expired);
+            lastRun = new Run(startedAt, expired, tookMs);
+            if (expired > 0) {
+                LOGGER.info("VIP expiry sweep cleared {} listings in {} ms", expired, tookMs);
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(runs.get(), totalExpired.get(), lastRun);
+    }
+
+    public record Run(Instant startedAt, int expired, long tookMs) {
+    }
+
+    public record Stats(long runs, long totalExpired, Run lastRun) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.carzavenue.backend.car.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CarBulkImportResponse {
+    int received;
+    int created;
+    int failed;
+    List<Row> rows;
+
+    // line is 1-based in the uploaded file; id is set for created rows, error for rejected ones.
+    @Value
+    public static class Row {
+        int line;
+        Long id;
+        String error;
+    }
+}
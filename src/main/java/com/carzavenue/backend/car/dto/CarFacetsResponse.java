@@ -0,0 +1,32 @@
+package com.carzavenue.backend.car.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CarFacetsResponse {
+    long total;
+    List<FacetCount> make;
+    List<FacetCount> fuelType;
+    List<FacetCount> bodyType;
+    List<FacetCount> transmission;
+    List<FacetCount> category;
+    List<FacetCount> packageType;
+    List<PriceBucket> price;
+
+    @Value
+    public static class FacetCount {
+        String value;
+        long count;
+    }
+
+    @Value
+    public static class PriceBucket {
+        Double from;
+        Double to;
+        long count;
+    }
+}
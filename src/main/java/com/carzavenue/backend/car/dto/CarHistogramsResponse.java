@@ -0,0 +1,31 @@
+package com.carzavenue.backend.car.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CarHistogramsResponse {
+    long total;
+    Histogram price;
+    Histogram year;
+    Histogram mileage;
+    Histogram engineVolume;
+
+    @Value
+    public static class Histogram {
+        Double min;
+        Double max;
+        List<Bucket> buckets;
+    }
+
+    // Buckets are half-open [from, to) except the last one, which also includes max.
+    @Value
+    public static class Bucket {
+        double from;
+        double to;
+        long count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.carzavenue.backend.common;
+
+/**
+ * How a paged endpoint computes its total: an exact {@code count(*)}, a planner row estimate, or no
+ * total at all (a slice that only knows whether a next page exists).
+ */
+public enum CountMode {
+    EXACT, ESTIMATE, NONE;
+
+    public static CountMode from(String value, CountMode fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("count must be one of exact, estimate, none");
+        }
+    }
+}
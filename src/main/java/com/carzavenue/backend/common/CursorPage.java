@@ -0,0 +1,12 @@
+package com.carzavenue.backend.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+    public static <T> CursorPage<T> of(List<T> content, int size, String nextCursor) {
+        return new CursorPage<>(content, size, nextCursor != null, nextCursor);
+    }
+}
@@ -0,0 +1,18 @@
+package com.carzavenue.backend.common;
+
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+/**
+ * Builds patterns for {@code lower(column) like ...} predicates. Keeping the column lowercased (rather
+ * than {@code upper()} as derived IgnoreCase queries do) lets the trigram indexes from V6 serve them.
+ */
+public final class LikePatterns {
+    public static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    public static String contains(String value) {
+        return "%" + EscapeCharacter.of(ESCAPE).escape(value.trim().toLowerCase()) + "%";
+    }
+}
@@ -0,0 +1,38 @@
+package com.carzavenue.backend.common;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort property and direction, the last row's sort value and its id.
+ */
+public record SeekCursor(String property, Sort.Direction direction, String value, long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + (value == null ? "" : value) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = parts[2].isEmpty() ? null : parts[2];
+            return new SeekCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public void requireOrder(Sort.Order order) {
+        if (!property.equals(order.getProperty()) || direction != order.getDirection()) {
+            throw new IllegalArgumentException("cursor does not match the requested sort");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.carzavenue.backend.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+
+/**
+ * Plans a criteria query with Postgres {@code EXPLAIN} instead of running it. The rewrite only applies to a
+ * child session that shares the caller's connection (and so its transaction and replica) but has an empty
+ * persistence context and manual flushing, so the query is the only statement it can ever prepare.
+ */
+public class ExplainStatementInspector implements StatementInspector {
+    private static final ExplainStatementInspector INSTANCE = new ExplainStatementInspector();
+
+    /**
+     * The plan lines of {@code query}; the query must select a single column.
+     */
+    public static List<String> explain(EntityManager entityManager, CriteriaQuery<String> query) {
+        try (Session planner = entityManager.unwrap(Session.class)
+                .sessionWithOptions()
+                .connection()
+                .statementInspector(INSTANCE)
+                .flushMode(FlushMode.MANUAL)
+                .openSession()) {
+            return planner.createQuery(query).getResultList();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        return "EXPLAIN " + sql;
+    }
+}
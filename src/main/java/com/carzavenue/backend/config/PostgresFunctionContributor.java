@@ -0,0 +1,29 @@
+package com.carzavenue.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Postgres-only SQL functions usable from JPQL and criteria queries. Registered through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class PostgresFunctionContributor implements FunctionContributor {
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_match",
+                "(?1 @@ websearch_to_tsquery('simple', ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_rank",
+                "ts_rank_cd(?1, websearch_to_tsquery('simple', ?2))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+        functionContributions.getFunctionRegistry().registerPattern(
+                "bit_intersects",
+                "((?1 & ?2) <> 0)",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
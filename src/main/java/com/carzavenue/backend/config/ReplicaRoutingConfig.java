@@ -0,0 +1,66 @@
+package com.carzavenue.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces the auto-configured datasource with a primary/replica router when
+ * {@code app.datasource.replicas.enabled} is set. Flyway keeps its own connection to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaRoutingProperties replicaProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        List<String> urls = replicaProperties.getUrls();
+        List<DataSource> replicas = IntStream.range(0, urls.size())
+                .mapToObj(i -> replica("replica-" + i, urls.get(i), primaryProperties, replicaProperties))
+                .toList();
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.getMaxLag(), replicaProperties.getStickiness());
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    private static DataSource replica(String name, String url, DataSourceProperties primaryProperties,
+                                      ReplicaRoutingProperties replicaProperties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(name);
+        replica.setJdbcUrl(url);
+        replica.setUsername(blankToDefault(replicaProperties.getUsername(), primaryProperties.determineUsername()));
+        replica.setPassword(blankToDefault(replicaProperties.getPassword(), primaryProperties.determinePassword()));
+        replica.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    private static String blankToDefault(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
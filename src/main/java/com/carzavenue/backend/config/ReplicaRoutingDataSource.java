@@ -0,0 +1,129 @@
+package com.carzavenue.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary. A user who just
+ * ran a read-write transaction keeps reading from the primary for the stickiness window, so they see
+ * their own writes. Must sit behind a {@code LazyConnectionDataSourceProxy} so the read-only flag is
+ * known before a connection is chosen.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    // Milliseconds behind the primary; 0 on a server not in recovery, where both LSN functions return NULL
+    static final String LAG_SQL = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long stickinessMillis;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    Duration maxLag, Duration stickiness) {
+        this.replicas = IntStream.range(0, replicaDataSources.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicaDataSources.get(i)))
+                .toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickinessMillis = stickiness.toMillis();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.key, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        long now = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWriteAt.put(user, now);
+            }
+            return PRIMARY;
+        }
+        if (user != null) {
+            Long wroteAt = lastWriteAt.get(user);
+            if (wroteAt != null && now - wroteAt < stickinessMillis) {
+                return PRIMARY;
+            }
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measures replay lag on every replica and takes lagging or unreachable ones out of rotation.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                long lag = rs.getLong(1);
+                boolean healthy = lag <= maxLagMillis;
+                if (healthy != replica.healthy) {
+                    LOGGER.warn("Read replica {} is now {} (lag {} ms)", replica.key, healthy ? "in rotation" : "out of rotation", lag);
+                }
+                replica.healthy = healthy;
+            } catch (Exception ex) {
+                if (replica.healthy) {
+                    LOGGER.warn("Read replica {} is unreachable, routing reads to the primary", replica.key, ex);
+                }
+                replica.healthy = false;
+            }
+        }
+        long cutoff = System.currentTimeMillis() - stickinessMillis;
+        lastWriteAt.values().removeIf(wroteAt -> wroteAt < cutoff);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        // Out of rotation until the first lag check succeeds
+        private volatile boolean healthy;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.carzavenue.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaRoutingProperties {
+    private boolean enabled;
+    private List<String> urls = new ArrayList<>();
+    // Fall back to spring.datasource credentials when blank
+    private String username;
+    private String password;
+    private int maxPoolSize = 10;
+    // Replicas further behind than this stop receiving reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+    // Read by @Scheduled as plain milliseconds, like the other job intervals
+    private long lagCheckIntervalMs = 5000;
+    // How long a user's reads stay on the primary after that user wrote
+    private Duration stickiness = Duration.ofSeconds(10);
+}
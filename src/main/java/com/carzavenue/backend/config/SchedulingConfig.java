@@ -0,0 +1,12 @@
+package com.carzavenue.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tests switch background jobs off so their queries do not show up in statement counts
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,326 @@
+package com.carzavenue.backend.payment;
+
+import com.carzavenue.backend.payment.dto.AccountBalanceResponse;
+import com.carzavenue.backend.payment.dto.AccountStatementResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Daily per-account ledger checkpoints and the balance/statement reads built on them. The job walks
+ * accounts in id order, one transaction per batch, and resumes after the last account already
+ * checkpointed for the day, so a restart or a second node only redoes the batch in flight.
+ * <p>
+ * A checkpoint only freezes entries whose status can no longer change: it covers the account's ledger up
+ * to its oldest entry that was still in a non-final status ({@code app.ledger.snapshots.final-statuses}),
+ * and reads aggregate everything from there on, so a pending entry that posts later is counted as posted.
+ */
+@Service
+public class AccountBalanceService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountBalanceService.class);
+    private static final String DELTA_JPQL = "SELECT e.account.id, e.direction, e.status, sum(e.amount), count(e), max(e.id),"
+            + " min(e.createdAt)"
+            + " FROM LedgerEntry e WHERE e.account.id IN :accountIds AND e.createdAt >= :from AND e.createdAt < :to"
+            + " GROUP BY e.account.id, e.direction, e.status";
+
+    private final EntityManager entityManager;
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Set<String> balanceStatuses;
+    private final Set<String> finalStatuses;
+
+    public AccountBalanceService(EntityManager entityManager,
+                                 AccountRepository accountRepository,
+                                 AccountBalanceSnapshotRepository snapshotRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.ledger.snapshots.batch-size:500}") int batchSize,
+                                 @Value("${app.ledger.balance.statuses:}") List<String> balanceStatuses,
+                                 @Value("${app.ledger.snapshots.final-statuses:POSTED,COMPLETED,SUCCESS,FAILED,CANCELLED,REVERSED}")
+                                 List<String> finalStatuses) {
+        this.entityManager = entityManager;
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.balanceStatuses = normalize(balanceStatuses);
+        this.finalStatuses = normalize(finalStatuses);
+    }
+
+    // Runs shortly after midnight UTC so entries stamped before midnight have committed
+    @Scheduled(cron = "${app.ledger.snapshots.cron:0 15 0 * * *}", zone = "UTC")
+    public void checkpointDaily() {
+        checkpoint(LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /**
+     * Writes a checkpoint at {@code asOf} for every account that does not have one yet.
+     */
+    public int checkpoint(Instant asOf) {
+        long after = snapshotRepository.findLastAccountIdAt(asOf).orElse(0L);
+        int written = 0;
+        while (true) {
+            long cursor = after;
+            List<Long> accountIds = entityManager
+                    .createQuery("SELECT a.id FROM Account a WHERE a.id > :after ORDER BY a.id", Long.class)
+                    .setParameter("after", cursor)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            try {
+                Integer saved = transactionTemplate.execute(status -> checkpointBatch(accountIds, asOf));
+                written += saved == null ? 0 : saved;
+            } catch (DataIntegrityViolationException ex) {
+                LOGGER.warn("Balance checkpoint {} for accounts {}-{} conflicted with existing rows, retrying per account: {}",
+                        asOf, accountIds.get(0), accountIds.get(accountIds.size() - 1), ex.getMostSpecificCause().getMessage());
+                written += checkpointEach(accountIds, asOf);
+            }
+            after = accountIds.get(accountIds.size() - 1);
+        }
+        if (written > 0) {
+            LOGGER.info("Wrote {} balance checkpoints as of {}", written, asOf);
+        }
+        return written;
+    }
+
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse balanceAt(Long accountId, Instant at) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        return balanceAt(account, at);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountStatementResponse statement(Long accountId, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found"));
+        AccountBalanceResponse opening = balanceAt(account, from);
+        Totals movement = delta(List.of(accountId), from, to).getOrDefault(accountId, new Totals());
+        Totals closingTotals = new Totals(opening.getTotals(), opening.getEntries(), opening.getLastEntryId());
+        closingTotals.add(movement);
+        AccountBalanceResponse closing = AccountBalanceResponse.builder()
+                .accountId(accountId)
+                .currency(account.getCurrency())
+                .at(to)
+                .checkpointAsOf(opening.getCheckpointAsOf())
+                .lastEntryId(closingTotals.lastEntryId)
+                .entries(closingTotals.entries)
+                .totals(closingTotals.amounts)
+                .net(net(closingTotals.amounts))
+                .build();
+        return AccountStatementResponse.builder()
+                .accountId(accountId)
+                .currency(account.getCurrency())
+                .from(from)
+                .to(to)
+                .opening(opening)
+                .closing(closing)
+                .entries(movement.entries)
+                .movement(movement.amounts)
+                .net(net(movement.amounts))
+                .build();
+    }
+
+    private AccountBalanceResponse balanceAt(Account account, Instant at) {
+        Long accountId = account.getId();
+        AccountBalanceSnapshot checkpoint = snapshotRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, at)
+                .orElse(null);
+        Totals totals = checkpoint == null
+                ? new Totals()
+                : new Totals(checkpoint.getTotals(), checkpoint.getEntries(), checkpoint.getLastEntryId());
+        Instant from = checkpoint == null ? Instant.EPOCH : checkpoint.getCoveredUntil();
+        totals.add(delta(List.of(accountId), from, at).getOrDefault(accountId, new Totals()));
+        return AccountBalanceResponse.builder()
+                .accountId(accountId)
+                .currency(account.getCurrency())
+                .at(at)
+                .checkpointAsOf(checkpoint == null ? null : checkpoint.getAsOf())
+                .lastEntryId(totals.lastEntryId)
+                .entries(totals.entries)
+                .totals(totals.amounts)
+                .net(net(totals.amounts))
+                .build();
+    }
+
+    // One transaction per account, skipping the ones another node already checkpointed
+    private int checkpointEach(List<Long> accountIds, Instant asOf) {
+        int written = 0;
+        for (Long accountId : accountIds) {
+            if (snapshotRepository.existsByAccountIdAndAsOf(accountId, asOf)) {
+                continue;
+            }
+            try {
+                Integer saved = transactionTemplate.execute(status -> checkpointBatch(List.of(accountId), asOf));
+                written += saved == null ? 0 : saved;
+            } catch (DataIntegrityViolationException ex) {
+                LOGGER.warn("Balance checkpoint {} for account {} failed: {}",
+                        asOf, accountId, ex.getMostSpecificCause().getMessage());
+            }
+        }
+        return written;
+    }
+
+    private int checkpointBatch(List<Long> accountIds, Instant asOf) {
+        Map<Long, AccountBalanceSnapshot> previous = new HashMap<>();
+        Map<Long, Instant> starts = new HashMap<>();
+        snapshotRepository.findLatestBefore(accountIds, asOf).forEach(snapshot -> {
+            previous.put(snapshot.getAccountId(), snapshot);
+            starts.put(snapshot.getAccountId(), snapshot.getCoveredUntil());
+        });
+        // Accounts are grouped by the point their previous checkpoint covers; after the first run that is
+        // mostly one group
+        Map<Instant, List<Long>> byStart = accountIds.stream().collect(Collectors.groupingBy(
+                id -> starts.getOrDefault(id, Instant.EPOCH)));
+        Map<Long, Totals> deltas = new HashMap<>();
+        byStart.forEach((from, ids) -> deltas.putAll(delta(ids, from, asOf)));
+
+        // An account with an entry still open stops its checkpoint at that entry's creation time
+        Map<Range, List<Long>> settling = new HashMap<>();
+        deltas.forEach((id, totals) -> {
+            if (totals.oldestOpen != null) {
+                settling.computeIfAbsent(new Range(starts.getOrDefault(id, Instant.EPOCH), totals.oldestOpen),
+                        range -> new ArrayList<>()).add(id);
+            }
+        });
+        settling.forEach((range, ids) -> {
+            Map<Long, Totals> settled = delta(ids, range.from(), range.to());
+            ids.forEach(id -> deltas.put(id, settled.getOrDefault(id, new Totals()).coveredUntil(range.to())));
+        });
+
+        Instant now = Instant.now();
+        List<AccountBalanceSnapshot> snapshots = accountIds.stream().map(id -> {
+            AccountBalanceSnapshot prior = previous.get(id);
+            Totals totals = prior == null ? new Totals() : new Totals(prior.getTotals(), prior.getEntries(), prior.getLastEntryId());
+            Totals delta = deltas.getOrDefault(id, new Totals());
+            totals.add(delta);
+            return AccountBalanceSnapshot.builder()
+                    .accountId(id)
+                    .asOf(asOf)
+                    .coveredUntil(delta.coveredUntil != null ? delta.coveredUntil : asOf)
+                    .lastEntryId(totals.lastEntryId)
+                    .entries(totals.entries)
+                    .totals(totals.amounts)
+                    .createdAt(now)
+                    .build();
+        }).toList();
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    private Map<Long, Totals> delta(Collection<Long> accountIds, Instant from, Instant to) {
+        Map<Long, Totals> deltas = new HashMap<>();
+        if (!from.isBefore(to)) {
+            return deltas;
+        }
+        List<Object[]> rows = entityManager.createQuery(DELTA_JPQL, Object[].class)
+                .setParameter("accountIds", accountIds)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+        for (Object[] row : rows) {
+            Totals totals = deltas.computeIfAbsent((Long) row[0], id -> new Totals());
+            String key = String.valueOf(row[1]).toUpperCase() + ":" + String.valueOf(row[2]).toUpperCase();
+            totals.amounts.merge(key, (BigDecimal) row[3], BigDecimal::add);
+            totals.entries += (Long) row[4];
+            totals.lastEntryId = max(totals.lastEntryId, (Long) row[5]);
+            if (!finalStatuses.contains(String.valueOf(row[2]).toUpperCase())) {
+                Instant created = (Instant) row[6];
+                totals.oldestOpen = totals.oldestOpen == null || created.isBefore(totals.oldestOpen) ? created : totals.oldestOpen;
+            }
+        }
+        return deltas;
+    }
+
+    // Credits minus debits, limited to app.ledger.balance.statuses when that is set
+    private BigDecimal net(Map<String, BigDecimal> amounts) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> entry : amounts.entrySet()) {
+            String[] key = entry.getKey().split(":", 2);
+            if (!balanceStatuses.isEmpty() && !balanceStatuses.contains(key[1])) {
+                continue;
+            }
+            if ("CREDIT".equals(key[0])) {
+                net = net.add(entry.getValue());
+            } else if ("DEBIT".equals(key[0])) {
+                net = net.subtract(entry.getValue());
+            }
+        }
+        return net;
+    }
+
+    private static Set<String> normalize(List<String> statuses) {
+        return statuses.stream()
+                .filter(status -> !status.isBlank())
+                .map(status -> status.trim().toUpperCase())
+                .collect(Collectors.toSet());
+    }
+
+    private static Long max(Long a, Long b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.max(a, b);
+    }
+
+    private record Range(Instant from, Instant to) {
+    }
+
+    private static final class Totals {
+        private final Map<String, BigDecimal> amounts;
+        private long entries;
+        private Long lastEntryId;
+        // Creation time of the oldest entry in a non-final status, if any
+        private Instant oldestOpen;
+        // Set when these totals stop short of the checkpoint time because of an open entry
+        private Instant coveredUntil;
+
+        private Totals() {
+            this(Map.of(), 0, null);
+        }
+
+        private Totals(Map<String, BigDecimal> amounts, long entries, Long lastEntryId) {
+            this.amounts = new LinkedHashMap<>(amounts);
+            this.entries = entries;
+            this.lastEntryId = lastEntryId;
+        }
+
+        private void add(Totals other) {
+            other.amounts.forEach((key, amount) -> amounts.merge(key, amount, BigDecimal::add));
+            entries += other.entries;
+            lastEntryId = max(lastEntryId, other.lastEntryId);
+        }
+
+        private Totals coveredUntil(Instant at) {
+            coveredUntil = at;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.carzavenue.backend.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ledger totals of one account for every entry created before {@code coveredUntil}. That is {@code asOf}
+ * unless an older entry was still open at checkpoint time. Balances at a later time are this checkpoint
+ * plus the entries created since {@code coveredUntil}, so nothing has to walk the full ledger.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "account_balance_snapshot",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "as_of"}))
+public class AccountBalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    // Creation time of the oldest entry still in a non-final status at asOf, else asOf itself
+    @Column(name = "covered_until", nullable = false)
+    private Instant coveredUntil;
+
+    // Highest ledger entry id included, for reconciliation
+    @Column(name = "last_entry_id")
+    private Long lastEntryId;
+
+    @Column(nullable = false)
+    private long entries;
+
+    // Summed amounts keyed by "DIRECTION:STATUS"
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private Map<String, BigDecimal> totals = new LinkedHashMap<>();
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
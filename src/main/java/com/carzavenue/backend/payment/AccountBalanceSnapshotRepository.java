@@ -0,0 +1,23 @@
+package com.carzavenue.backend.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, Instant asOf);
+
+    boolean existsByAccountIdAndAsOf(Long accountId, Instant asOf);
+
+    @Query("SELECT s FROM AccountBalanceSnapshot s WHERE s.accountId IN :accountIds AND s.asOf = "
+            + "(SELECT max(p.asOf) FROM AccountBalanceSnapshot p WHERE p.accountId = s.accountId AND p.asOf < :asOf)")
+    List<AccountBalanceSnapshot> findLatestBefore(@Param("accountIds") Collection<Long> accountIds, @Param("asOf") Instant asOf);
+
+    @Query("SELECT max(s.accountId) FROM AccountBalanceSnapshot s WHERE s.asOf = :asOf")
+    Optional<Long> findLastAccountIdAt(@Param("asOf") Instant asOf);
+}
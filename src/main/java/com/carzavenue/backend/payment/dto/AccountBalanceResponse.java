@@ -0,0 +1,24 @@
+package com.carzavenue.backend.payment.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+@Builder
+public class AccountBalanceResponse {
+    Long accountId;
+    String currency;
+    // Covers ledger entries created before this instant
+    Instant at;
+    // Checkpoint the balance was built from; null when none precedes "at"
+    Instant checkpointAsOf;
+    Long lastEntryId;
+    long entries;
+    // Summed amounts keyed by "DIRECTION:STATUS"
+    Map<String, BigDecimal> totals;
+    BigDecimal net;
+}
@@ -0,0 +1,23 @@
+package com.carzavenue.backend.payment.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+@Builder
+public class AccountStatementResponse {
+    Long accountId;
+    String currency;
+    Instant from;
+    Instant to;
+    AccountBalanceResponse opening;
+    AccountBalanceResponse closing;
+    // Entries created in [from, to), summed like AccountBalanceResponse.totals
+    long entries;
+    Map<String, BigDecimal> movement;
+    BigDecimal net;
+}
@@ -3,6 +3,8 @@ package com.carzavenue.backend.user;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,7 +13,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findFirstByEmailStartingWithIgnoreCase(String emailPrefix);
     Optional<User> findByGoogleSub(String googleSub);
     boolean existsByEmail(String email);
-    Page<User> findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(String email, String name, Pageable pageable);
+    // pattern comes from LikePatterns.contains; lower() rather than upper() so the trigram indexes apply
+    @Query("select u from User u where lower(u.email) like :pattern escape '\\' or lower(u.name) like :pattern escape '\\'")
+    Page<User> searchByEmailOrName(@Param("pattern") String pattern, Pageable pageable);
     long countByRole(Role role);
     java.util.List<User> findAllByOrderByEmailAsc();
 }
@@ -31,6 +31,7 @@ public class UserService {
         user.setName(request.getName());
         user.setPhoneNumber(request.getPhoneNumber());
         userRepository.save(user);
+        carService.syncSeller(user);
         return toProfile(user);
     }
 
@@ -0,0 +1,56 @@
+package db.migration;
+
+import com.carzavenue.backend.car.PackageType;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills car_listing.package_type_mask from package_type and car_listing_package_types, using the bit each
+ * PackageType pins in its constructor. Runs outside a transaction in id ranges so a large table is never
+ * locked by one long update.
+ */
+public class V10__Backfill_package_type_mask extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 5000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        StringBuilder bitCase = new StringBuilder("CASE t.package_type");
+        for (PackageType type : PackageType.values()) {
+            bitCase.append(" WHEN '").append(type.name()).append("' THEN ").append(type.getBit());
+        }
+        bitCase.append(" ELSE 0 END");
+        String sql = "UPDATE car_listing c SET package_type_mask = ("
+                + " SELECT coalesce(bit_or(" + bitCase + "), 0) FROM ("
+                + " SELECT c.package_type AS package_type"
+                + " UNION SELECT p.package_type FROM car_listing_package_types p WHERE p.car_id = c.id) t)"
+                + " WHERE c.id > ? AND c.id <= ?";
+
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM car_listing")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        try (PreparedStatement update = connection.prepareStatement(sql)) {
+            for (long fromId = 0; fromId < maxId; fromId += BATCH_SIZE) {
+                update.setLong(1, fromId);
+                update.setLong(2, fromId + BATCH_SIZE);
+                update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+    }
+}
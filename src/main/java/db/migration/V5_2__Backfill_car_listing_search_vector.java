@@ -0,0 +1,47 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills car_listing.search_vector for rows written before the V5.1 trigger. Runs outside a transaction in
+ * id ranges so a large table is never locked by one long update.
+ */
+public class V5_2__Backfill_car_listing_search_vector extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 5000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String sql = "UPDATE car_listing"
+                + " SET search_vector = car_listing_search_vector(title, make, model, location, description)"
+                + " WHERE id > ? AND id <= ? AND search_vector IS NULL";
+
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM car_listing")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        try (PreparedStatement update = connection.prepareStatement(sql)) {
+            for (long fromId = 0; fromId < maxId; fromId += BATCH_SIZE) {
+                update.setLong(1, fromId);
+                update.setLong(2, fromId + BATCH_SIZE);
+                update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+    }
+}
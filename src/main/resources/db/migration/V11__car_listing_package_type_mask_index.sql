@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_active_package_mask ON car_listing (package_type_mask) WHERE is_active;
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_vip_expiry_due ON car_listing (vip_expires_at) WHERE is_vip;
@@ -0,0 +1,4 @@
+-- flyway:executeInTransaction=false
+-- VipExpirySweeper looks up VIP listings whose vip_expires_at has passed; once swept they drop out of
+-- the V12.1 index, so it only ever holds currently flagged VIPs. The V7.7 index it replaces goes first.
+DROP INDEX CONCURRENTLY IF EXISTS idx_car_listing_vip_expires;
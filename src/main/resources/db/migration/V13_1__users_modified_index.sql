@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_users_modified ON users ((COALESCE(updated_at, created_at)), id);
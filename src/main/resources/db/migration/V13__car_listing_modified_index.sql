@@ -0,0 +1,3 @@
+-- flyway:executeInTransaction=false
+-- Incremental admin exports (AdminExporter) read rows modified after a watermark in (modified, id) order.
+CREATE INDEX CONCURRENTLY idx_car_listing_modified ON car_listing ((COALESCE(updated_at, created_at)), id);
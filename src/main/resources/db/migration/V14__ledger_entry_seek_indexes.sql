@@ -0,0 +1,5 @@
+-- Keyset paging for the admin ledger screens (AdminLedgerReader): newest first on (created_at, id).
+-- Per-user pages filter on account_id; the global page may add a type filter.
+CREATE INDEX IF NOT EXISTS idx_ledger_entry_account_created ON ledger_entry (account_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ledger_entry_created ON ledger_entry (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ledger_entry_type_created ON ledger_entry (type, created_at DESC, id DESC);
@@ -0,0 +1,13 @@
+-- Per-account ledger checkpoints written by AccountBalanceService; (account_id, as_of) also serves the
+-- "latest checkpoint at or before T" lookup.
+CREATE TABLE account_balance_snapshot (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_entry_id BIGINT,
+    entries BIGINT NOT NULL,
+    totals JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_account_balance_snapshot UNIQUE (account_id, as_of)
+);
+CREATE INDEX idx_account_balance_snapshot_as_of ON account_balance_snapshot (as_of, account_id);
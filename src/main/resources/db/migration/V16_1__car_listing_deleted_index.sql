@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_deleted ON car_listing (deleted_at, id) WHERE deleted_at IS NOT NULL;
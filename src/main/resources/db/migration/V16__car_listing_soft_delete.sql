@@ -0,0 +1,3 @@
+-- Deletes only stamp deleted_at (and clear is_active, so the partial search indexes drop the row);
+-- CarListingPurger removes the listing and its dependent rows later, oldest first (V16.1 index).
+ALTER TABLE car_listing ADD COLUMN deleted_at TIMESTAMP WITH TIME ZONE;
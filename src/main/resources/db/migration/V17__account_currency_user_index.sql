@@ -0,0 +1,3 @@
+-- Currency (and user) filters on the admin ledger resolve the matching accounts first, then seek per
+-- account_id through idx_ledger_entry_account_created.
+CREATE INDEX IF NOT EXISTS idx_account_currency_user ON account (currency, user_id);
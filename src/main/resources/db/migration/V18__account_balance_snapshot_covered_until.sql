@@ -0,0 +1,5 @@
+-- Totals cover entries created before covered_until, which stops at the oldest entry that was not yet in a
+-- final status. Checkpoints written before this column existed covered everything up to as_of.
+ALTER TABLE account_balance_snapshot ADD COLUMN covered_until TIMESTAMP WITH TIME ZONE;
+UPDATE account_balance_snapshot SET covered_until = as_of WHERE covered_until IS NULL;
+ALTER TABLE account_balance_snapshot ALTER COLUMN covered_until SET NOT NULL;
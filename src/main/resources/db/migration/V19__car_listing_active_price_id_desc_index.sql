@@ -0,0 +1,4 @@
+-- flyway:executeInTransaction=false
+-- price_asc pages and cursors break ties on id desc, which V7.1 (price, id) cannot return in order;
+-- price_desc keeps reading V7.1 backwards.
+CREATE INDEX CONCURRENTLY idx_car_listing_active_price_asc ON car_listing (price, id DESC) WHERE is_active;
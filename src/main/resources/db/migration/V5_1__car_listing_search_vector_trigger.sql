@@ -0,0 +1,20 @@
+-- 'simple' keeps words as typed (no stemming) since listings mix English, Georgian and model codes.
+-- The trigger goes in before the backfill, so rows written while V5.2 runs are already filled.
+CREATE FUNCTION car_listing_search_vector(title text, make text, model text, location text, description text)
+RETURNS tsvector LANGUAGE sql IMMUTABLE AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(make, '') || ' ' || coalesce(model, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(location, '')), 'B') ||
+           setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+$$;
+
+CREATE FUNCTION car_listing_search_vector_refresh() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := car_listing_search_vector(NEW.title, NEW.make, NEW.model, NEW.location, NEW.description);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER car_listing_search_vector_refresh
+    BEFORE INSERT OR UPDATE OF title, make, model, location, description ON car_listing
+    FOR EACH ROW EXECUTE FUNCTION car_listing_search_vector_refresh();
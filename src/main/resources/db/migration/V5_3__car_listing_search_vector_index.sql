@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_search_vector ON car_listing USING GIN (search_vector);
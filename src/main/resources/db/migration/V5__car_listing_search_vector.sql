@@ -0,0 +1,3 @@
+-- Keyword search: weighted tsvector kept up to date by the V5.1 trigger, filled in batches by V5.2 and served
+-- by the V5.3 GIN index. Adding a nullable column without a default does not rewrite car_listing.
+ALTER TABLE car_listing ADD COLUMN search_vector tsvector;
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_make_trgm ON car_listing USING GIN (lower(make) gin_trgm_ops);
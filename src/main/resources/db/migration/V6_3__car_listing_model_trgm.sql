@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_model_trgm ON car_listing USING GIN (lower(model) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_users_email_trgm ON users USING GIN (lower(email) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_users_name_trgm ON users USING GIN (lower(name) gin_trgm_ops);
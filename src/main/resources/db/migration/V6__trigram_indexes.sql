@@ -0,0 +1,3 @@
+-- Trigram indexes (V6.1-V6.5) for the substring (leading-wildcard LIKE) filters: listing location/make/model
+-- in public and admin search, and email/name in the admin user search. Expressions match lower(col).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_active_make_model ON car_listing (lower(make), lower(model)) WHERE is_active;
@@ -0,0 +1,2 @@
+-- flyway:executeInTransaction=false
+CREATE INDEX CONCURRENTLY idx_car_listing_vip_expires ON car_listing (vip_expires_at) WHERE vip_expires_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- flyway:executeInTransaction=false
+-- Indexes (V7-V7.7) for the CarSpecifications predicates and CarService sorts. Public searches always
+-- filter on is_active, so everything but the VIP expiry lookup is partial on active listings.
+CREATE INDEX CONCURRENTLY idx_car_listing_active_created ON car_listing (created_at DESC, id DESC) WHERE is_active;
@@ -0,0 +1,5 @@
+-- Seller display fields copied onto listings so listing reads do not join users.
+-- Existing rows are filled in batches by SellerSnapshotBackfill after startup.
+ALTER TABLE car_listing ADD COLUMN seller_name VARCHAR(255);
+ALTER TABLE car_listing ADD COLUMN seller_email VARCHAR(255);
+ALTER TABLE car_listing ADD COLUMN seller_phone VARCHAR(50);
@@ -0,0 +1,2 @@
+-- Package types of a listing as a bitmask (see PackageTypeMask); filled by V10, indexed by V11.
+ALTER TABLE car_listing ADD COLUMN package_type_mask INTEGER NOT NULL DEFAULT 0;
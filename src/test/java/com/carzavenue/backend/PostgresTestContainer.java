@@ -0,0 +1,32 @@
+package com.carzavenue.backend;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * One Postgres container per test JVM. The Flyway history starts from a baselined database, so tests build
+ * the schema from the entity mappings instead. Scheduled jobs and the search index are off, which keeps
+ * Hibernate statement statistics down to what the test itself runs.
+ */
+public final class PostgresTestContainer {
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    private PostgresTestContainer() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.enabled", () -> false);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> true);
+        registry.add("app.scheduling.enabled", () -> false);
+        registry.add("app.search.index.enabled", () -> false);
+        registry.add("app.search.cache.enabled", () -> false);
+    }
+}
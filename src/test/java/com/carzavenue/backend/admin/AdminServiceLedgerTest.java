@@ -0,0 +1,134 @@
+package com.carzavenue.backend.admin;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.carzavenue.backend.common.PageResponse;
+import com.carzavenue.backend.payment.Account;
+import com.carzavenue.backend.payment.LedgerEntry;
+import com.carzavenue.backend.payment.LedgerType;
+import com.carzavenue.backend.payment.dto.LedgerEntryResponse;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AdminServiceLedgerTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int USERS = 10;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    // Every user gets an account; one entry in five has no account and names its user by reference id
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>();
+            List<Account> accounts = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder()
+                        .email("ledger-" + i + "@example.com")
+                        .passwordHash("x")
+                        .name("Ledger " + i)
+                        .build());
+                Account account = Account.builder()
+                        .user(user)
+                        .currency("GEL")
+                        .availableBalance(BigDecimal.ZERO)
+                        .holdBalance(BigDecimal.ZERO)
+                        .build();
+                entityManager.persist(account);
+                users.add(user);
+                accounts.add(account);
+            }
+            Instant now = Instant.now();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                boolean byReference = i % 5 == 0;
+                entityManager.persist(LedgerEntry.builder()
+                        .account(byReference ? null : accounts.get(i % USERS))
+                        .amount(BigDecimal.valueOf(10 + i))
+                        .type(LedgerType.values()[i % LedgerType.values().length])
+                        .referenceType(byReference ? "user" : "payment")
+                        .referenceId(byReference ? String.valueOf(users.get(i % USERS).getId()) : "pay-" + i)
+                        .idempotencyKey("ledger-test-" + i)
+                        .createdAt(now.minusSeconds(i))
+                        .build());
+            }
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM LedgerEntry").executeUpdate();
+            entityManager.createQuery("DELETE FROM Account").executeUpdate();
+        });
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void fullPageResolvesOwnersWithOneQueryPerTable() {
+        PageResponse<LedgerEntryResponse> page = adminService.getLedger(null, null, null, null, null, firstPage(PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(entry -> assertThat(entry.getUserId()).isNotNull());
+        // page + count + accounts IN + users IN
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void pageSizeDoesNotChangeStatementCount() {
+        adminService.getLedger(null, null, null, null, null, firstPage(10));
+        long small = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        adminService.getLedger(null, null, null, null, null, firstPage(PAGE_SIZE));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(small);
+    }
+
+    private static PageRequest firstPage(int size) {
+        return PageRequest.of(0, size, Sort.by("createdAt").descending());
+    }
+}
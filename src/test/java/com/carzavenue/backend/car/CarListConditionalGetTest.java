@@ -0,0 +1,108 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CarListConditionalGetTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+        registry.add("app.search.index.enabled", () -> true);
+        registry.add("app.search.cache.enabled", () -> true);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarListingRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CarListing listing;
+
+    @BeforeEach
+    void seed() {
+        User owner = userRepository.save(User.builder()
+                .email("etag-test@example.com")
+                .passwordHash("x")
+                .name("ETag Test")
+                .build());
+        listing = carRepository.save(CarListing.builder()
+                .owner(owner)
+                .sellerName(owner.getName())
+                .sellerEmail(owner.getEmail())
+                .title("Before")
+                .make("Toyota")
+                .model("Prius")
+                .year(2015)
+                .price(14500.0)
+                .photos(new ArrayList<>())
+                .packageTypes(new ArrayList<>(List.of(PackageType.ECONOM)))
+                .isActive(true)
+                .build());
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        carRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void writeSyncedFromAnotherNodeInvalidatesTheCachedPage() throws Exception {
+        String staleETag = mockMvc.perform(get("/cars"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].title").value("Before"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(staleETag).isNotNull();
+        mockMvc.perform(get("/cars").header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isNotModified());
+
+        // Another node's write: no local change event, only the index sync sees it
+        jdbcTemplate.update("UPDATE car_listing SET title = 'After', updated_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().plusSeconds(1)), listing.getId());
+        searchIndex.syncRecentChanges();
+
+        String freshETag = mockMvc.perform(get("/cars").header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].title").value("After"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(freshETag).isNotEqualTo(staleETag);
+        mockMvc.perform(get("/cars").header(HttpHeaders.IF_NONE_MATCH, freshETag))
+                .andExpect(status().isNotModified());
+    }
+}
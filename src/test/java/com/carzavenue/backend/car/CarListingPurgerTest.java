@@ -0,0 +1,95 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+class CarListingPurgerTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private CarListingPurger purger;
+
+    @Autowired
+    private CarListingRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM car_listing_package_types");
+        jdbcTemplate.update("DELETE FROM car_photos");
+        jdbcTemplate.update("DELETE FROM car_listing");
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void recentDeletionsWaitForTheMinimumAge() {
+        User owner = userRepository.save(User.builder()
+                .email("purge-test@example.com")
+                .passwordHash("x")
+                .name("Purge Test")
+                .build());
+        Long old = deletedListing(owner, Instant.now().minus(Duration.ofHours(1)));
+        Long recent = deletedListing(owner, Instant.now().minusSeconds(5));
+
+        purger.purge();
+
+        assertThat(exists(old)).isFalse();
+        assertThat(exists(recent)).isTrue();
+        assertThat(purger.stats().lastRun().purged()).isEqualTo(1);
+    }
+
+    @Test
+    void minimumAgeMustOutlastTheIndexSync() {
+        assertThatThrownBy(() -> new CarListingPurger(null, null, null, null, null, null,
+                mock(PlatformTransactionManager.class), 50, 1000, 60_000, 30_000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Long deletedListing(User owner, Instant deletedAt) {
+        CarListing car = carRepository.save(CarListing.builder()
+                .owner(owner)
+                .title("Deleted")
+                .make("Toyota")
+                .model("Prius")
+                .photos(new ArrayList<>(List.of("https://img.example/deleted.jpg")))
+                .packageTypes(new ArrayList<>(List.of(PackageType.ECONOM)))
+                .isActive(false)
+                .build());
+        jdbcTemplate.update("UPDATE car_listing SET deleted_at = ? WHERE id = ?", Timestamp.from(deletedAt), car.getId());
+        return car.getId();
+    }
+
+    private boolean exists(Long id) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM car_listing WHERE id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+}
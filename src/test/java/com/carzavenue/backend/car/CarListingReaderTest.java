@@ -0,0 +1,123 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.carzavenue.backend.car.dto.CarResponse;
+import com.carzavenue.backend.common.CountMode;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CarListingReaderTest {
+    private static final int PAGE_SIZE = 20;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private CarListingReader listingReader;
+
+    @Autowired
+    private CarListingRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        User owner = userRepository.save(User.builder()
+                .email("reader-test@example.com")
+                .passwordHash("x")
+                .name("Reader Test")
+                .build());
+        List<CarListing> cars = new ArrayList<>();
+        PackageType[] packageTypes = PackageType.values();
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            cars.add(CarListing.builder()
+                    .owner(owner)
+                    .sellerName(owner.getName())
+                    .sellerEmail(owner.getEmail())
+                    .title("Listing " + i)
+                    .make("Toyota")
+                    .model("Model-" + i % 5)
+                    .year(2000 + i % 20)
+                    .price(1000.0 + i)
+                    .photos(new ArrayList<>(List.of("https://img.example/" + i + "/1.jpg", "https://img.example/" + i + "/2.jpg")))
+                    .packageTypes(new ArrayList<>(List.of(packageTypes[i % packageTypes.length])))
+                    .isActive(true)
+                    .build());
+        }
+        carRepository.saveAll(cars);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        carRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pageWithoutCountCostsThreeStatements() {
+        Slice<CarResponse> page = listingReader.findPage(active(), PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()), CountMode.NONE);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).allSatisfy(car -> {
+            assertThat(car.getPhotos()).hasSize(2);
+            assertThat(car.getPackageTypes()).isNotEmpty();
+            assertThat(car.getSellerName()).isEqualTo("Reader Test");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void pageSizeDoesNotChangeStatementCount() {
+        listingReader.findPage(active(), PageRequest.of(0, 5), CountMode.NONE);
+        long small = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        listingReader.findPage(active(), PageRequest.of(0, PAGE_SIZE * 2), CountMode.NONE);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(small);
+    }
+
+    @Test
+    void exactCountAddsOneStatement() {
+        listingReader.findPage(active(), PageRequest.of(0, PAGE_SIZE), CountMode.EXACT);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static Specification<CarListing> active() {
+        return Specification.where(CarSpecifications.active());
+    }
+}
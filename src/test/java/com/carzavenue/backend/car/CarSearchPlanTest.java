@@ -0,0 +1,189 @@
+package com.carzavenue.backend.car;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression check for the public listing search (CarSpecifications + CarService sorts). The
+ * schema comes from the entity mappings like in every other test; the indexes are taken from the Flyway
+ * migrations, so a query that loses its index fails here rather than in production.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CarSearchPlanTest {
+    private static final Pattern VERSION = Pattern.compile("V([\\d_]+)__.*\\.sql");
+    private static final Pattern INDEX_DDL = Pattern.compile(
+            "(?is)^(CREATE (UNIQUE )?INDEX|DROP INDEX|CREATE EXTENSION)\\b.*");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() throws IOException {
+        for (String statement : migrationIndexStatements()) {
+            jdbcTemplate.execute(statement);
+        }
+
+        // 300k listings, about a tenth of them inactive, for a realistic planner picture
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password_hash, name, role, provider, is_blocked, created_at)
+                SELECT 'plan-check-' || g || '@example.com', 'x', 'Plan check ' || g, 'user', 'LOCAL', false, now()
+                FROM generate_series(1, 1000) AS g""");
+        jdbcTemplate.update("""
+                INSERT INTO car_listing (owner_id, title, make, model, year, mileage, fuel_type, transmission,
+                                         body_type, price, location, package_type, package_type_mask, category,
+                                         status, is_active, is_vip, vip_expires_at, created_at, updated_at,
+                                         search_vector)
+                SELECT (SELECT min(id) FROM users) + g % 1000,
+                       'Listing ' || g,
+                       (ARRAY['Toyota', 'Mercedes-Benz', 'BMW', 'Hyundai', 'Kia', 'Lexus', 'Ford', 'Nissan'])[1 + g % 8],
+                       'Model-' || (g % 400),
+                       1995 + g % 30,
+                       g % 300000,
+                       (ARRAY['Petrol', 'Diesel', 'Hybrid', 'Electric'])[1 + g % 4],
+                       (ARRAY['Automatic', 'Manual'])[1 + g % 2],
+                       (ARRAY['Sedan', 'SUV', 'Hatchback', 'Coupe'])[1 + g % 4],
+                       CASE WHEN g % 50 = 0 THEN NULL ELSE 1000 + g % 90000 END,
+                       (ARRAY['Tbilisi', 'Batumi', 'Kutaisi', 'Rustavi'])[1 + g % 4] || ', district ' || (g % 1000),
+                       'ECONOM',
+                       1,
+                       'OTHER',
+                       'ACTIVE',
+                       g % 10 <> 0,
+                       g % 20 = 0,
+                       CASE WHEN g % 20 = 0 THEN now() + (g % 30 - 10) * interval '1 day' END,
+                       now() - g * interval '1 minute',
+                       now() - g * interval '1 minute',
+                       to_tsvector('simple', 'Listing ' || g || ' district ' || (g % 1000))
+                FROM generate_series(1, 300000) AS g""");
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE car_listing");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE car_listing, users CASCADE");
+    }
+
+    // Shaped like the SQL Hibernate generates for GET /cars (first page, size 10)
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("newest", """
+                        SELECT id FROM car_listing WHERE is_active
+                        ORDER BY created_at DESC, id DESC LIMIT 10"""),
+                Arguments.of("price_asc", """
+                        SELECT id FROM car_listing WHERE is_active
+                        ORDER BY price ASC, id DESC LIMIT 10"""),
+                Arguments.of("price_desc", """
+                        SELECT id FROM car_listing WHERE is_active
+                        ORDER BY price DESC, id DESC LIMIT 10"""),
+                Arguments.of("make + model newest", """
+                        SELECT id FROM car_listing
+                        WHERE is_active AND lower(make) = 'toyota' AND lower(model) = 'model-8'
+                        ORDER BY created_at DESC, id DESC LIMIT 10"""),
+                Arguments.of("model count", """
+                        SELECT count(id) FROM car_listing WHERE is_active AND lower(model) = 'model-8'"""),
+                Arguments.of("year range count", """
+                        SELECT count(id) FROM car_listing WHERE is_active AND year >= 2024"""),
+                Arguments.of("mileage range count", """
+                        SELECT count(id) FROM car_listing WHERE is_active AND mileage <= 1000"""),
+                Arguments.of("price range price_asc", """
+                        SELECT id FROM car_listing
+                        WHERE is_active AND price >= 20000 AND price <= 21000
+                        ORDER BY price ASC, id DESC LIMIT 10"""),
+                Arguments.of("location substring", """
+                        SELECT id FROM car_listing
+                        WHERE is_active AND lower(location) LIKE '%district 42%' ESCAPE '\\'
+                        ORDER BY created_at DESC, id DESC LIMIT 10"""),
+                Arguments.of("keyword", """
+                        SELECT id FROM car_listing
+                        WHERE is_active AND search_vector @@ websearch_to_tsquery('simple', 'district')
+                        ORDER BY created_at DESC, id DESC LIMIT 10"""),
+                Arguments.of("vip expiry sweep", """
+                        SELECT id FROM car_listing
+                        WHERE is_vip AND vip_expires_at <= now()
+                        ORDER BY vip_expires_at LIMIT 500 FOR UPDATE SKIP LOCKED"""),
+                Arguments.of("search index delta sync", """
+                        SELECT id FROM car_listing
+                        WHERE COALESCE(updated_at, created_at) >= now() - interval '1 minute' AND deleted_at IS NULL"""));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String label, String query) throws IOException {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query, String.class);
+
+        assertThat(seqScans(objectMapper.readTree(plan)))
+                .as("%s plans a Seq Scan on car_listing: %s", label, plan)
+                .isEmpty();
+    }
+
+    private static List<JsonNode> seqScans(JsonNode node) {
+        List<JsonNode> found = new ArrayList<>();
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && "car_listing".equals(node.path("Relation Name").asText())) {
+            found.add(node);
+        }
+        node.forEach(child -> found.addAll(seqScans(child)));
+        return found;
+    }
+
+    // Index and extension DDL from the migrations in version order; columns already exist from the mappings
+    private static List<String> migrationIndexStatements() throws IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+        Arrays.sort(migrations, Comparator.comparing(CarSearchPlanTest::version, Arrays::compare));
+        List<String> statements = new ArrayList<>();
+        for (Resource migration : migrations) {
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8).replaceAll("(?m)--.*$", "");
+            for (String statement : sql.split(";")) {
+                String trimmed = statement.strip();
+                if (INDEX_DDL.matcher(trimmed).matches()) {
+                    statements.add(trimmed);
+                }
+            }
+        }
+        return statements;
+    }
+
+    // V7_1__x.sql is version 7.1 and runs between 7 and 8
+    private static int[] version(Resource migration) {
+        Matcher matcher = VERSION.matcher(migration.getFilename());
+        if (!matcher.matches()) {
+            return new int[] {Integer.MAX_VALUE};
+        }
+        return Arrays.stream(matcher.group(1).split("_")).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,138 @@
+package com.carzavenue.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration STICKINESS = Duration.ofSeconds(10);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ResultSet lag = mock(ResultSet.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        Statement statement = mock(Statement.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() throws SQLException {
+        ReplicaRoutingDataSource router = router(STICKINESS);
+        replicaLagMillis(0);
+        router.checkReplicas();
+
+        assertThat(connectionFor(router, true, null)).isSameAs(replicaConnection);
+        assertThat(connectionFor(router, false, null)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void replicasStayOutOfRotationUntilTheFirstLagCheck() throws SQLException {
+        ReplicaRoutingDataSource router = router(STICKINESS);
+
+        assertThat(connectionFor(router, true, null)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheUserWrote() throws SQLException {
+        ReplicaRoutingDataSource router = router(STICKINESS);
+        replicaLagMillis(0);
+        router.checkReplicas();
+
+        assertThat(connectionFor(router, false, "alice")).isSameAs(primaryConnection);
+
+        assertThat(connectionFor(router, true, "alice")).isSameAs(primaryConnection);
+        assertThat(connectionFor(router, true, "bob")).isSameAs(replicaConnection);
+        assertThat(connectionFor(router, true, null)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void stickinessEndsAfterTheWindow() throws SQLException {
+        ReplicaRoutingDataSource router = router(Duration.ZERO);
+        replicaLagMillis(0);
+        router.checkReplicas();
+
+        connectionFor(router, false, "alice");
+
+        assertThat(connectionFor(router, true, "alice")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource router = router(STICKINESS);
+        replicaLagMillis(0);
+        router.checkReplicas();
+        assertThat(connectionFor(router, true, null)).isSameAs(replicaConnection);
+
+        replicaLagMillis(MAX_LAG.toMillis() + 1);
+        router.checkReplicas();
+        assertThat(connectionFor(router, true, null)).isSameAs(primaryConnection);
+
+        replicaLagMillis(0);
+        router.checkReplicas();
+        assertThat(connectionFor(router, true, null)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource router = router(STICKINESS);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        router.checkReplicas();
+
+        assertThat(connectionFor(router, true, null)).isSameAs(primaryConnection);
+    }
+
+    private ReplicaRoutingDataSource router(Duration stickiness) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica), MAX_LAG, stickiness);
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    private void replicaLagMillis(long millis) throws SQLException {
+        when(lag.getLong(1)).thenReturn(millis);
+    }
+
+    // Routing is decided from the transaction flags and the signed-in user at connection time
+    private static Connection connectionFor(ReplicaRoutingDataSource router, boolean readOnly, String user)
+            throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        if (user == null) {
+            SecurityContextHolder.clearContext();
+        } else {
+            SecurityContextHolder.getContext().setAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+        }
+        return router.getConnection();
+    }
+}
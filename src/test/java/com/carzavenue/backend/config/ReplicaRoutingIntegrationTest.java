@@ -0,0 +1,215 @@
+package com.carzavenue.backend.config;
+
+import com.carzavenue.backend.car.CarListing;
+import com.carzavenue.backend.car.CarListingRepository;
+import com.carzavenue.backend.car.CarService;
+import com.carzavenue.backend.car.PackageType;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing against a real primary and a streaming replica built from it with pg_basebackup. Pausing WAL
+ * replay on the replica makes the two servers disagree, which shows where a read went.
+ */
+@SpringBootTest
+class ReplicaRoutingIntegrationTest {
+    private static final Network NETWORK = Network.newNetwork();
+    private static final String REPLICA_DATA = "/var/lib/postgresql/replica";
+
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/allow-replication.sh");
+
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withExposedPorts(5432)
+            .withEnv("PGPASSWORD", "test")
+            .withCommand("sh", "-c", String.join(" && ",
+                    "mkdir -p " + REPLICA_DATA,
+                    "chown postgres " + REPLICA_DATA,
+                    "chmod 700 " + REPLICA_DATA,
+                    "su-exec postgres pg_basebackup -h primary -U test -D " + REPLICA_DATA + " -R -X stream",
+                    "exec su-exec postgres postgres -D " + REPLICA_DATA))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    static {
+        PRIMARY.start();
+        REPLICA.start();
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("spring.flyway.enabled", () -> false);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("app.scheduling.enabled", () -> false);
+        registry.add("app.search.index.enabled", () -> false);
+        registry.add("app.search.cache.enabled", () -> false);
+        registry.add("app.datasource.replicas.enabled", () -> true);
+        registry.add("app.datasource.replicas.urls", ReplicaRoutingIntegrationTest::replicaUrl);
+        registry.add("app.datasource.replicas.max-lag", () -> "1s");
+    }
+
+    @Autowired
+    private ReplicaRoutingConfig routingConfig;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarListingRepository carRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .email("replica-test@example.com")
+                .passwordHash("x")
+                .name("Replica Test")
+                .build());
+        awaitOnReplica(owner.getId(), "users");
+        routingConfig.checkReplicas();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        onReplica("SELECT pg_wal_replay_resume()");
+        carRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lagQueryRunsOnBothServers() throws SQLException {
+        assertThat(lag(PRIMARY.getJdbcUrl())).isZero();
+        assertThat(lag(replicaUrl())).isLessThan(1000);
+    }
+
+    @Test
+    void readOnlyServiceCallsGoToTheReplica() throws SQLException {
+        onReplica("SELECT pg_wal_replay_pause()");
+        Long id = listing();
+
+        // The replica has not replayed the insert, so only the primary can answer
+        assertThatThrownBy(() -> carService.get(id)).isInstanceOf(EntityNotFoundException.class);
+
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitOnReplica(id, "car_listing");
+        assertThat(carService.get(id).getTitle()).isEqualTo("Replicated");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() throws Exception {
+        onReplica("SELECT pg_wal_replay_pause()");
+        Long id = listing();
+        Thread.sleep(1500);
+
+        routingConfig.checkReplicas();
+        assertThat(lag(replicaUrl())).isGreaterThan(1000);
+        assertThat(carService.get(id).getTitle()).isEqualTo("Replicated");
+
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitOnReplica(id, "car_listing");
+        routingConfig.checkReplicas();
+        onReplica("SELECT pg_wal_replay_pause()");
+        Long unreplicated = listing();
+        assertThatThrownBy(() -> carService.get(unreplicated)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private Long listing() {
+        return carRepository.save(CarListing.builder()
+                .owner(owner)
+                .sellerName(owner.getName())
+                .sellerEmail(owner.getEmail())
+                .title("Replicated")
+                .make("Toyota")
+                .model("Prius")
+                .photos(new ArrayList<>())
+                .packageTypes(new ArrayList<>(List.of(PackageType.ECONOM)))
+                .isActive(true)
+                .build()).getId();
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + REPLICA.getHost() + ":" + REPLICA.getMappedPort(5432) + "/test";
+    }
+
+    private static long lag(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "test", "test");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(ReplicaRoutingDataSource.LAG_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void onReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void awaitOnReplica(Long id, String table) {
+        await(() -> {
+            try (Connection connection = DriverManager.getConnection(replicaUrl(), "test", "test");
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + table + " WHERE id = " + id)) {
+                rs.next();
+                return rs.getLong(1) == 1;
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("replica did not catch up within 10 s");
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.carzavenue.backend.payment;
+
+import com.carzavenue.backend.PostgresTestContainer;
+import com.carzavenue.backend.payment.dto.AccountBalanceResponse;
+import com.carzavenue.backend.payment.dto.AccountStatementResponse;
+import com.carzavenue.backend.user.User;
+import com.carzavenue.backend.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AccountBalanceServiceTest {
+    private static final Instant AS_OF = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry);
+        // One account per batch, so a run can stop between accounts
+        registry.add("app.ledger.snapshots.batch-size", () -> 1);
+    }
+
+    @Autowired
+    private AccountBalanceService balanceService;
+
+    @Autowired
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private final List<Account> accounts = new ArrayList<>();
+    private int entrySeq;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                User user = userRepository.save(User.builder()
+                        .email("balance-" + i + "@example.com")
+                        .passwordHash("x")
+                        .name("Balance " + i)
+                        .build());
+                Account account = Account.builder()
+                        .user(user)
+                        .currency("GEL")
+                        .availableBalance(BigDecimal.ZERO)
+                        .holdBalance(BigDecimal.ZERO)
+                        .build();
+                entityManager.persist(account);
+                accounts.add(account);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        snapshotRepository.deleteAllInBatch();
+        tx.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM LedgerEntry").executeUpdate();
+            entityManager.createQuery("DELETE FROM Account").executeUpdate();
+        });
+        userRepository.deleteAllInBatch();
+        accounts.clear();
+    }
+
+    @Test
+    void resumesAfterTheLastAccountOfAPartialRun() {
+        accounts.forEach(account -> entry(account, "CREDIT", "POSTED", 10, AS_OF.minus(Duration.ofHours(3))));
+        // The first batch of an earlier run committed before it stopped
+        snapshotRepository.save(AccountBalanceSnapshot.builder()
+                .accountId(accounts.get(0).getId())
+                .asOf(AS_OF)
+                .coveredUntil(AS_OF)
+                .entries(42)
+                .totals(new HashMap<>(Map.of("CREDIT:POSTED", BigDecimal.valueOf(42))))
+                .createdAt(Instant.now())
+                .build());
+
+        assertThat(balanceService.checkpoint(AS_OF)).isEqualTo(2);
+
+        assertThat(snapshot(accounts.get(0)).getEntries()).isEqualTo(42);
+        assertThat(snapshot(accounts.get(1)).getEntries()).isEqualTo(1);
+        assertThat(snapshot(accounts.get(2)).getEntries()).isEqualTo(1);
+        assertThat(balanceService.checkpoint(AS_OF)).isZero();
+    }
+
+    @Test
+    void openEntryCapsCoveredUntil() {
+        Account account = accounts.get(0);
+        Instant openedAt = AS_OF.minus(Duration.ofHours(2));
+        entry(account, "CREDIT", "POSTED", 10, AS_OF.minus(Duration.ofHours(3)));
+        Long pending = entry(account, "CREDIT", "PENDING", 20, openedAt);
+        entry(account, "DEBIT", "POSTED", 5, AS_OF.minus(Duration.ofHours(1)));
+
+        balanceService.checkpoint(AS_OF);
+
+        AccountBalanceSnapshot checkpoint = snapshot(account);
+        assertThat(checkpoint.getCoveredUntil()).isEqualTo(openedAt);
+        assertThat(checkpoint.getEntries()).isEqualTo(1);
+
+        // The pending entry posts after the checkpoint was written and is read with its new status
+        tx.executeWithoutResult(status -> entityManager.find(LedgerEntry.class, pending).setStatus("POSTED"));
+        AccountBalanceResponse balance = balanceService.balanceAt(account.getId(), AS_OF);
+        assertThat(balance.getCheckpointAsOf()).isEqualTo(AS_OF);
+        assertThat(balance.getEntries()).isEqualTo(3);
+        assertThat(balance.getTotals()).doesNotContainKey("CREDIT:PENDING");
+        assertThat(balance.getTotals().get("CREDIT:POSTED")).isEqualByComparingTo("30");
+        assertThat(balance.getNet()).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void statementOpeningPlusMovementIsClosing() {
+        Account account = accounts.get(0);
+        entry(account, "CREDIT", "POSTED", 100, AS_OF.minus(Duration.ofHours(5)));
+        entry(account, "DEBIT", "POSTED", 30, AS_OF.minus(Duration.ofHours(2)));
+        entry(account, "CREDIT", "PENDING", 15, AS_OF.minus(Duration.ofHours(1)));
+        entry(account, "CREDIT", "POSTED", 40, AS_OF.plus(Duration.ofHours(1)));
+        entry(account, "DEBIT", "POSTED", 10, AS_OF.plus(Duration.ofHours(2)));
+        balanceService.checkpoint(AS_OF);
+
+        Instant from = AS_OF.minus(Duration.ofHours(3));
+        Instant to = AS_OF.plus(Duration.ofHours(3));
+        AccountStatementResponse statement = balanceService.statement(account.getId(), from, to);
+
+        Map<String, BigDecimal> expected = new HashMap<>(statement.getOpening().getTotals());
+        statement.getMovement().forEach((key, amount) -> expected.merge(key, amount, BigDecimal::add));
+        assertThat(normalized(statement.getClosing().getTotals())).isEqualTo(normalized(expected));
+        assertThat(statement.getClosing().getEntries())
+                .isEqualTo(statement.getOpening().getEntries() + statement.getEntries());
+        assertThat(statement.getOpening().getNet().add(statement.getNet()))
+                .isEqualByComparingTo(statement.getClosing().getNet());
+
+        // The closing side agrees with a balance read straight at "to", and with the raw ledger
+        AccountBalanceResponse direct = balanceService.balanceAt(account.getId(), to);
+        assertThat(normalized(statement.getClosing().getTotals())).isEqualTo(normalized(direct.getTotals()));
+        assertThat(statement.getClosing().getEntries()).isEqualTo(5);
+        assertThat(statement.getClosing().getNet()).isEqualByComparingTo("115");
+        assertThat(statement.getEntries()).isEqualTo(4);
+    }
+
+    private Long entry(Account account, String direction, String status, long amount, Instant createdAt) {
+        String key = "balance-test-" + (++entrySeq);
+        return tx.execute(s -> {
+            LedgerEntry entry = LedgerEntry.builder()
+                    .account(account)
+                    .direction(direction)
+                    .status(status)
+                    .amount(BigDecimal.valueOf(amount))
+                    .type(LedgerType.values()[0])
+                    .referenceType("payment")
+                    .referenceId(key)
+                    .idempotencyKey(key)
+                    .createdAt(createdAt)
+                    .build();
+            entityManager.persist(entry);
+            return entry.getId();
+        });
+    }
+
+    private AccountBalanceSnapshot snapshot(Account account) {
+        return snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(account.getId(), AS_OF)
+                .orElseThrow();
+    }
+
+    // jsonb totals come back with their own scale
+    private static Map<String, BigDecimal> normalized(Map<String, BigDecimal> totals) {
+        Map<String, BigDecimal> normalized = new HashMap<>();
+        totals.forEach((key, amount) -> normalized.put(key, amount.stripTrailingZeros()));
+        return normalized;
+    }
+}